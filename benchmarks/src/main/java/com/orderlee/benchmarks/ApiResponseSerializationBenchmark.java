@@ -0,0 +1,70 @@
+package com.orderlee.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderlee.dto.response.ApiResponse;
+import com.orderlee.dto.response.ProductResponse;
+import com.orderlee.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Writing an ApiResponse body the way the message converter does, for entity and DTO payloads
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    public int size;
+    
+    private ObjectMapper objectMapper;
+    private ApiResponse entities;
+    private ApiResponse responses;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        
+        Random random = new Random(size);
+        List<Product> products = new ArrayList<>(size);
+        List<ProductResponse> productResponses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product product = BenchmarkContext.product(i, random, 100, null);
+            product.setId((long) i + 1);
+            product.setCreatedAt(LocalDateTime.now());
+            product.setUpdatedAt(LocalDateTime.now());
+            products.add(product);
+            productResponses.add(ProductResponse.from(product));
+        }
+        entities = new ApiResponse(true, "Products retrieved successfully", products);
+        responses = new ApiResponse(true, "Products retrieved successfully", productResponses);
+    }
+    
+    @Benchmark
+    public byte[] entityList() throws Exception {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+    
+    @Benchmark
+    public byte[] responseList() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
\ No newline at end of file
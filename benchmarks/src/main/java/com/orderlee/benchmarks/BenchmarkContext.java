@@ -0,0 +1,177 @@
+package com.orderlee.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderlee.OrderleeBackendApplication;
+import com.orderlee.dto.request.OrderItemRequest;
+import com.orderlee.dto.request.OrderRequest;
+import com.orderlee.model.Business;
+import com.orderlee.model.Order;
+import com.orderlee.model.Product;
+import com.orderlee.model.User;
+import com.orderlee.repository.BusinessRepository;
+import com.orderlee.repository.ProductRepository;
+import com.orderlee.repository.UserRepository;
+import com.orderlee.security.TenantContext;
+import com.orderlee.service.OrderImportService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Boots the application against a private in-memory H2 database for one benchmark trial and seeds a
+ * single tenant whose identity the benchmark threads act under.
+ */
+public final class BenchmarkContext implements AutoCloseable {
+    
+    private static final String[] WORDS = {"steel", "lamp", "cotton", "shirt", "ceramic", "mug", "oak", "table",
+        "leather", "wallet", "glass", "bottle", "wool", "scarf", "copper", "kettle", "linen", "towel", "bamboo", "tray"};
+    private static final int SEED_CHUNK = 1000;
+    
+    private final ConfigurableApplicationContext context;
+    private final TransactionTemplate transactionTemplate;
+    private final Long userId;
+    private final Long businessId;
+    
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        
+        Long[] ids = transactionTemplate.execute(status -> {
+            User user = context.getBean(UserRepository.class)
+                .save(new User("Bench", "Marker", "bench-" + UUID.randomUUID() + "@orderlee.local", "benchmark"));
+            Business business = new Business();
+            business.setBusinessName("Benchmark Traders");
+            business.setUser(user);
+            business = context.getBean(BusinessRepository.class).save(business);
+            return new Long[] {user.getId(), business.getId()};
+        });
+        this.userId = ids[0];
+        this.businessId = ids[1];
+    }
+    
+    public static BenchmarkContext start(Map<String, Object> properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(OrderleeBackendApplication.class)
+            .profiles("bench")
+            .properties("spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() +
+                ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+            .properties(properties)
+            .run();
+        return new BenchmarkContext(context);
+    }
+    
+    public static BenchmarkContext start() {
+        return start(Map.of());
+    }
+    
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+    
+    // Service calls resolve the business from the tenant context, so every benchmark thread sets it
+    public void actAsTenant() {
+        TenantContext.set(new TenantContext(userId, businessId));
+    }
+    
+    public Long getBusinessId() {
+        return businessId;
+    }
+    
+    public List<Long> seedProducts(int count, int stockQuantity) {
+        Random random = new Random(count);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += SEED_CHUNK) {
+            int start = from;
+            int end = Math.min(from + SEED_CHUNK, count);
+            transactionTemplate.executeWithoutResult(status -> {
+                Business business = context.getBean(BusinessRepository.class).getReferenceById(businessId);
+                List<Product> products = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    products.add(product(i, random, stockQuantity, business));
+                }
+                for (Product product : productRepository.saveAll(products)) {
+                    ids.add(product.getId());
+                }
+            });
+        }
+        return ids;
+    }
+    
+    public int seedOrders(int count, int itemsPerOrder, List<Long> productIds) {
+        actAsTenant();
+        return (int) bean(OrderImportService.class).importNdjson(new StringReader(ordersAsNdjson(count, itemsPerOrder, productIds)))
+            .getOrdersImported();
+    }
+    
+    public String ordersAsNdjson(int count, int itemsPerOrder, List<Long> productIds) {
+        ObjectMapper objectMapper = bean(ObjectMapper.class);
+        Random random = new Random(count);
+        StringBuilder ndjson = new StringBuilder();
+        try {
+            for (int i = 0; i < count; i++) {
+                ndjson.append(objectMapper.writeValueAsString(orderRequest(i, itemsPerOrder, productIds, random))).append('\n');
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return ndjson.toString();
+    }
+    
+    public static OrderRequest orderRequest(int sequence, int itemsPerOrder, List<Long> productIds, Random random) {
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Customer " + sequence);
+        request.setCustomerEmail("customer" + sequence + "@example.com");
+        request.setCustomerPhone("0800" + (1000000 + sequence % 9000000));
+        request.setShippingAddress(sequence + " Benchmark Street, Lagos");
+        request.setOrderSource("benchmark");
+        request.setPaymentStatus(Order.PaymentStatus.PENDING);
+        List<OrderItemRequest> items = new ArrayList<>(itemsPerOrder);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            Long productId = productIds.get(random.nextInt(productIds.size()));
+            items.add(new OrderItemRequest(productId, 1 + random.nextInt(3), new BigDecimal("2500.00")));
+        }
+        request.setOrderItems(items);
+        return request;
+    }
+    
+    public static Product product(int sequence, Random random, int stockQuantity, Business business) {
+        Product product = new Product();
+        product.setName(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + sequence);
+        product.setDescription("Seeded for benchmarks");
+        product.setCategory(WORDS[sequence % WORDS.length]);
+        product.setSku(String.format("SKU-%06d", sequence));
+        product.setCostPrice(new BigDecimal("1500.00"));
+        product.setSellingPrice(new BigDecimal("2500.00"));
+        product.setStockQuantity(stockQuantity);
+        product.setReorderLevel(10);
+        product.setBusiness(business);
+        return product;
+    }
+    
+    // For components whose configuration is injected with @Value, when no context is needed
+    public static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalArgumentException(target.getClass().getSimpleName() + " has no field " + name);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+    
+    @Override
+    public void close() {
+        TenantContext.clear();
+        context.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.orderlee.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints the change of every benchmark score between two JMH JSON result files:
+ * {@code java -cp benchmarks.jar com.orderlee.benchmarks.CompareResults baseline.json candidate.json}
+ */
+public final class CompareResults {
+    
+    private CompareResults() {}
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> candidate = read(new File(args[1]));
+        System.out.printf("%-90s %14s %14s %9s  %s%n", "Benchmark", "Baseline", "Candidate", "Change", "Unit");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode after = entry.getValue().path("primaryMetric");
+            JsonNode before = baseline.containsKey(entry.getKey()) ? baseline.get(entry.getKey()).path("primaryMetric") : null;
+            double score = after.path("score").asDouble();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "new", after.path("scoreUnit").asText());
+                continue;
+            }
+            double previous = before.path("score").asDouble();
+            double change = previous == 0 ? 0 : (score - previous) / previous * 100;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%n", entry.getKey(), previous, score, change,
+                after.path("scoreUnit").asText());
+        }
+    }
+    
+    // Keyed by benchmark name plus its parameters, so each parameter combination is compared on its own
+    private static Map<String, JsonNode> read(File file) throws Exception {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                .replace("com.orderlee.benchmarks.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            key.append(" [").append(result.path("threads").asInt()).append("t]");
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.orderlee.benchmarks;
+
+import com.orderlee.dto.request.OrderRequest;
+import com.orderlee.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderServiceImpl.createOrder against embedded H2. The hot mix sends every line to a single
+ * product, which is where stock reservation contends; the ledger parameter switches between
+ * conditional row decrements and the in-memory inventory ledger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CreateOrderBenchmark {
+    
+    @Param({"spread", "hot"})
+    public String productMix;
+    
+    @Param({"false", "true"})
+    public String inventoryLedger;
+    
+    @Param({"3"})
+    public int itemsPerOrder;
+    
+    private BenchmarkContext context;
+    private OrderService orderService;
+    private List<Long> productIds;
+    
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start(Map.of("orderlee.inventory.ledger.enabled", inventoryLedger));
+        productIds = context.seedProducts("hot".equals(productMix) ? 1 : 1000, Integer.MAX_VALUE / 2);
+        orderService = context.bean(OrderService.class);
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+    
+    @Benchmark
+    public Object createOrder() {
+        return place();
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public Object createOrderContended() {
+        return place();
+    }
+    
+    private Object place() {
+        context.actAsTenant();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        OrderRequest request = BenchmarkContext.orderRequest(random.nextInt(1_000_000), itemsPerOrder, productIds, random);
+        return orderService.createOrder(request).getId();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.orderlee.benchmarks;
+
+import com.orderlee.controller.DashboardController;
+import com.orderlee.service.DashboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// DashboardController.getDashboardStats served from the stats cache and recomputed from the database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardBenchmark {
+    
+    @Param({"10000"})
+    public int orders;
+    
+    private BenchmarkContext context;
+    private DashboardController dashboardController;
+    private DashboardService dashboardService;
+    
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start();
+        List<Long> productIds = context.seedProducts(1000, 100);
+        context.seedOrders(orders, 3, productIds);
+        dashboardController = context.bean(DashboardController.class);
+        dashboardService = context.bean(DashboardService.class);
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+    
+    @Benchmark
+    public Object cached() {
+        context.actAsTenant();
+        return dashboardController.getDashboardStats();
+    }
+    
+    @Benchmark
+    public Object uncached() {
+        context.actAsTenant();
+        dashboardService.evictStats(context.getBusinessId());
+        return dashboardController.getDashboardStats();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.orderlee.benchmarks;
+
+import com.orderlee.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Runs on every authenticated request through JwtAuthenticationFilter
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+    
+    private JwtTokenProvider tokenProvider;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        BenchmarkContext.setField(tokenProvider, "jwtSecret",
+            "orderlee-benchmark-signing-key-that-is-long-enough-for-hs512-0123456789abcdef");
+        BenchmarkContext.setField(tokenProvider, "jwtExpirationInMs", 3600000);
+        tokenProvider.init();
+        token = tokenProvider.generateToken(42L);
+    }
+    
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+    
+    @Benchmark
+    public Long getUserIdFromJWT() {
+        return tokenProvider.getUserIdFromJWT(token);
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(42L);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.orderlee.benchmarks;
+
+import com.orderlee.dto.response.OrderImportResult;
+import com.orderlee.service.OrderImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput for 10k orders with 5 items each through the bulk import path. A JDBC batch
+ * size of 1 is the unbatched baseline; 50 is the default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OrderImportBenchmark {
+    
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+    
+    @Param({"10000"})
+    public int orders;
+    
+    @Param({"5"})
+    public int itemsPerOrder;
+    
+    private BenchmarkContext context;
+    private OrderImportService orderImportService;
+    private String ndjson;
+    
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start(Map.of("orderlee.jpa.batch-size", jdbcBatchSize));
+        List<Long> productIds = context.seedProducts(500, 1000);
+        orderImportService = context.bean(OrderImportService.class);
+        ndjson = context.ordersAsNdjson(orders, itemsPerOrder, productIds);
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+    
+    @Benchmark
+    public OrderImportResult importOrders() {
+        context.actAsTenant();
+        OrderImportResult result = orderImportService.importNdjson(new StringReader(ndjson));
+        if (result.getOrdersImported() != orders) {
+            throw new IllegalStateException("Imported " + result.getOrdersImported() + " of " + orders + " orders");
+        }
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.orderlee.benchmarks;
+
+import com.orderlee.dto.response.SearchResults;
+import com.orderlee.repository.ProductRepository;
+import com.orderlee.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LIKE query in ProductRepository.searchProducts against the trigram index behind
+ * ProductService.searchProducts. Pass -p catalogSize=500000 for the large-catalog case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchBenchmark {
+    
+    @Param({"10000", "100000"})
+    public int catalogSize;
+    
+    // An exact SKU, a word shared by a tenth of the catalog, and a term too short for a trigram
+    @Param({"SKU-004242", "copper kettle", "oa"})
+    public String searchTerm;
+    
+    private BenchmarkContext context;
+    private ProductRepository productRepository;
+    private ProductService productService;
+    
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start();
+        context.seedProducts(catalogSize, 100);
+        productRepository = context.bean(ProductRepository.class);
+        productService = context.bean(ProductService.class);
+        
+        // Build the index outside the measurement
+        context.actAsTenant();
+        productService.searchProducts(searchTerm);
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<?> repositoryLike() {
+        return productRepository.searchProducts(context.getBusinessId(), searchTerm);
+    }
+    
+    @Benchmark
+    public SearchResults<?> searchIndex() {
+        context.actAsTenant();
+        return productService.searchProducts(searchTerm);
+    }
+}
\ No newline at end of file
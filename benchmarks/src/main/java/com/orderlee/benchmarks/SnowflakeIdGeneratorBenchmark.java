@@ -0,0 +1,43 @@
+package com.orderlee.benchmarks;
+
+import com.orderlee.util.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Order and tracking numbers; the contended case shows the CAS loop under load
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnowflakeIdGeneratorBenchmark {
+    
+    private final SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(1);
+    
+    @Benchmark
+    public long nextId() {
+        return idGenerator.nextId();
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public long nextIdContended() {
+        return idGenerator.nextId();
+    }
+    
+    @Benchmark
+    public String nextOrderNumber() {
+        return idGenerator.nextId("ORD-");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,492 @@
+package com.orderlee.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderlee.OrderleeBackendApplication;
+import com.orderlee.benchmarks.BenchmarkContext;
+import com.orderlee.dto.request.OrderItemRequest;
+import com.orderlee.dto.request.OrderRequest;
+import com.orderlee.dto.request.PaymentRequest;
+import com.orderlee.dto.request.ShipmentRequest;
+import com.orderlee.dto.response.OrderImportResult;
+import com.orderlee.model.Business;
+import com.orderlee.model.Notification;
+import com.orderlee.model.Order;
+import com.orderlee.model.Payment;
+import com.orderlee.model.Product;
+import com.orderlee.model.Shipment;
+import com.orderlee.model.User;
+import com.orderlee.repository.BusinessRepository;
+import com.orderlee.repository.NotificationRepository;
+import com.orderlee.repository.ProductRepository;
+import com.orderlee.repository.UserRepository;
+import com.orderlee.security.TenantContext;
+import com.orderlee.service.OrderImportService;
+import com.orderlee.service.PaymentService;
+import com.orderlee.service.ShipmentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Fills a database with synthetic tenants for load testing. Business sizes follow a Zipf curve,
+ * product popularity and repeat customers are skewed within each business, and orders are spread
+ * over a time window that grows towards today and follows a daily rhythm. Orders, payments and
+ * shipments go through the application's own services so derived columns stay consistent, and are
+ * backdated afterwards. Writes a manifest that {@link LoadDriver} reads.
+ */
+public final class DataGenerator {
+    
+    private static final Logger log = LoggerFactory.getLogger(DataGenerator.class);
+    
+    private static final String[] CITIES = {"Lagos", "Abuja", "Port Harcourt", "Ibadan", "Kano", "Enugu"};
+    private static final String[] CARRIERS = {"GIG Logistics", "DHL", "Kwik Delivery", "Sendbox", "FedEx"};
+    private static final String[] SOURCES = {"instagram", "whatsapp", "website", "walk-in", "facebook"};
+    private static final double[] SOURCE_WEIGHTS = {0.35, 0.30, 0.20, 0.10, 0.05};
+    private static final double[] PAYMENT_METHOD_WEIGHTS = {0.15, 0.25, 0.35, 0.15, 0.10};
+    // Relative order volume per hour of day, peaking at lunch and in the evening
+    private static final double[] HOURLY_WEIGHTS = {1.0, 0.5, 0.3, 0.2, 0.2, 0.4, 1.0, 2.0, 3.5, 4.5, 5.0, 5.5,
+        6.0, 5.5, 5.0, 4.5, 4.5, 5.0, 6.0, 6.5, 6.0, 4.5, 3.0, 2.0};
+    private static final String[][] NOTIFICATIONS = {
+        {"ORDER", "New order received", "Order %s was placed"},
+        {"PAYMENT", "Payment received", "A payment was recorded for order %s"},
+        {"SHIPMENT", "Shipment update", "The shipment for order %s changed status"},
+        {"LOW_STOCK", "Low stock", "An item in order %s is running low"}
+    };
+    private static final int IMPORT_BATCH = 5000;
+    private static final int SERVICE_CHUNK = 200;
+    private static final int MANIFEST_PRODUCTS = 200;
+    private static final int MANIFEST_SEARCH_SOURCES = 50;
+    private static final int MANIFEST_TRACKING_NUMBERS = 500;
+    
+    private final ConfigurableApplicationContext context;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final LocalDateTime now = LocalDateTime.now();
+    
+    private final int businesses;
+    private final int totalProducts;
+    private final int totalOrders;
+    private final double tenantSkew;
+    private final double productSkew;
+    private final double customerSkew;
+    private final double itemsMean;
+    private final int itemsMax;
+    private final int days;
+    private final double paidRatio;
+    private final double partialRatio;
+    private final double shippedRatio;
+    private final double notificationsPerOrder;
+    private final int hotStock;
+    private final String password;
+    private final String runId;
+    private final long seed;
+    private final Random random;
+    
+    private DataGenerator(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.objectMapper = context.getBean(ObjectMapper.class);
+        
+        Environment environment = context.getEnvironment();
+        this.businesses = environment.getProperty("loadgen.businesses", Integer.class, 20);
+        this.totalProducts = environment.getProperty("loadgen.products", Integer.class, 20000);
+        this.totalOrders = environment.getProperty("loadgen.orders", Integer.class, 200000);
+        this.tenantSkew = environment.getProperty("loadgen.tenant-skew", Double.class, 1.0);
+        this.productSkew = environment.getProperty("loadgen.product-skew", Double.class, 1.1);
+        this.customerSkew = environment.getProperty("loadgen.customer-skew", Double.class, 0.8);
+        this.itemsMean = environment.getProperty("loadgen.items-mean", Double.class, 2.5);
+        this.itemsMax = environment.getProperty("loadgen.items-max", Integer.class, 20);
+        this.days = environment.getProperty("loadgen.days", Integer.class, 180);
+        this.paidRatio = environment.getProperty("loadgen.paid-ratio", Double.class, 0.7);
+        this.partialRatio = environment.getProperty("loadgen.partial-ratio", Double.class, 0.1);
+        this.shippedRatio = environment.getProperty("loadgen.shipped-ratio", Double.class, 0.85);
+        this.notificationsPerOrder = environment.getProperty("loadgen.notifications-per-order", Double.class, 0.3);
+        this.hotStock = environment.getProperty("loadgen.hot-stock", Integer.class, 1000000);
+        this.password = environment.getProperty("loadgen.password", "loadgen-password");
+        this.runId = environment.getProperty("loadgen.run-id", Long.toString(System.currentTimeMillis(), 36));
+        this.seed = environment.getProperty("loadgen.seed", Long.class, 42L);
+        this.random = new Random(seed);
+    }
+    
+    public static void main(String[] args) throws IOException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(OrderleeBackendApplication.class)
+            .profiles("loadgen")
+            .run(args);
+        try {
+            new DataGenerator(context).run(new File(context.getEnvironment()
+                .getProperty("loadgen.manifest", "loadgen-manifest.json")));
+        } finally {
+            context.close();
+        }
+    }
+    
+    private void run(File manifestFile) throws IOException {
+        long started = System.currentTimeMillis();
+        ZipfDistribution tenantSizes = new ZipfDistribution(businesses, tenantSkew);
+        LoadManifest manifest = new LoadManifest();
+        manifest.generatedAt = now.toString();
+        manifest.seed = seed;
+        
+        for (int index = 0; index < businesses; index++) {
+            double weight = tenantSizes.weight(index);
+            int products = Math.max(1, (int) Math.round(totalProducts * weight));
+            int orders = Math.max(1, (int) Math.round(totalOrders * weight));
+            LoadManifest.Tenant tenant = generateTenant(index, weight, products, orders);
+            manifest.tenants.add(tenant);
+            log.info("Business {}/{} ({}): {} products, {} orders, {} tracking numbers sampled", index + 1, businesses,
+                tenant.businessId, tenant.productCount, tenant.orderCount, tenant.trackingNumbers.size());
+        }
+        
+        manifest.write(manifestFile);
+        log.info("Generated {} businesses in {} s; manifest written to {}", businesses,
+            (System.currentTimeMillis() - started) / 1000, manifestFile.getAbsolutePath());
+    }
+    
+    private LoadManifest.Tenant generateTenant(int index, double weight, int productCount, int orderCount) throws IOException {
+        LoadManifest.Tenant tenant = new LoadManifest.Tenant();
+        tenant.email = "loadgen-" + runId + "-" + index + "@loadgen.orderlee.local";
+        tenant.password = password;
+        tenant.weight = weight;
+        
+        String encodedPassword = context.getBean(PasswordEncoder.class).encode(password);
+        Long[] ids = transactionTemplate.execute(status -> {
+            User user = new User("Loadgen", "Tenant " + index, tenant.email, encodedPassword);
+            user.setEmailVerified(true);
+            user = context.getBean(UserRepository.class).save(user);
+            Business business = new Business();
+            business.setBusinessName("Loadgen Traders " + index);
+            business.setCity(CITIES[index % CITIES.length]);
+            business.setUser(user);
+            business = context.getBean(BusinessRepository.class).save(business);
+            return new Long[] {user.getId(), business.getId()};
+        });
+        tenant.businessId = ids[1];
+        
+        // The services resolve the business from the tenant context, as they would under the JWT filter
+        TenantContext.set(new TenantContext(ids[0], ids[1]));
+        try {
+            List<LoadManifest.ProductRef> products = seedProducts(tenant, productCount);
+            tenant.productCount = products.size();
+            tenant.products = new ArrayList<>(products.subList(0, Math.min(MANIFEST_PRODUCTS, products.size())));
+            tenant.orderCount = seedOrders(tenant, products, orderCount);
+            seedNotifications(tenant.businessId, (int) Math.round(tenant.orderCount * notificationsPerOrder));
+        } finally {
+            TenantContext.clear();
+        }
+        return tenant;
+    }
+    
+    // Products are returned most popular first; the popular head is stocked so load runs do not sell out
+    private List<LoadManifest.ProductRef> seedProducts(LoadManifest.Tenant tenant, int count) {
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        BusinessRepository businessRepository = context.getBean(BusinessRepository.class);
+        List<LoadManifest.ProductRef> products = new ArrayList<>(count);
+        Set<String> searchTerms = new LinkedHashSet<>();
+        for (int from = 0; from < count; from += IMPORT_BATCH) {
+            int start = from;
+            int end = Math.min(from + IMPORT_BATCH, count);
+            transactionTemplate.executeWithoutResult(status -> {
+                Business business = businessRepository.getReferenceById(tenant.businessId);
+                List<Product> batch = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    Product product = BenchmarkContext.product(i, random, stock(i), business);
+                    BigDecimal price = price();
+                    product.setSellingPrice(price);
+                    product.setCostPrice(price.multiply(new BigDecimal("0.60")).setScale(2, RoundingMode.HALF_UP));
+                    batch.add(product);
+                    if (i < MANIFEST_SEARCH_SOURCES) {
+                        String[] words = product.getName().split(" ");
+                        searchTerms.add(words[0]);
+                        searchTerms.add(words[0] + " " + words[1]);
+                        searchTerms.add(product.getSku());
+                    }
+                }
+                for (Product product : productRepository.saveAll(batch)) {
+                    products.add(new LoadManifest.ProductRef(product.getId(), product.getSellingPrice()));
+                }
+            });
+        }
+        tenant.searchTerms = new ArrayList<>(searchTerms);
+        return products;
+    }
+    
+    private long seedOrders(LoadManifest.Tenant tenant, List<LoadManifest.ProductRef> products, int count) throws IOException {
+        OrderImportService importService = context.getBean(OrderImportService.class);
+        ZipfDistribution popularity = new ZipfDistribution(products.size(), productSkew);
+        ZipfDistribution customers = new ZipfDistribution(Math.max(1, count / 3), customerSkew);
+        LocalDateTime[] placedAt = orderTimes(count);
+        long[] trackingSeen = new long[1];
+        long imported = 0;
+        
+        for (int from = 0; from < count; from += IMPORT_BATCH) {
+            int end = Math.min(from + IMPORT_BATCH, count);
+            StringBuilder ndjson = new StringBuilder();
+            for (int i = from; i < end; i++) {
+                ndjson.append(objectMapper.writeValueAsString(orderRequest(customers.sample(random), products, popularity)))
+                    .append('\n');
+            }
+            
+            // Import returns counts only, so the new rows are found by id; ids grow with insertion order
+            Long lastId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM orders WHERE business_id = ?",
+                Long.class, tenant.businessId);
+            OrderImportResult result = importService.importNdjson(new StringReader(ndjson.toString()));
+            if (result.getOrdersFailed() > 0 && !result.getErrors().isEmpty()) {
+                OrderImportResult.RowError error = result.getErrors().get(0);
+                log.warn("{} generated orders failed to import, first at row {}: {} {}", result.getOrdersFailed(),
+                    error.getRow(), error.getField(), error.getMessage());
+            }
+            
+            List<OrderRow> rows = jdbcTemplate.query(
+                "SELECT id, total_amount FROM orders WHERE business_id = ? AND id > ? ORDER BY id",
+                (resultSet, rowNum) -> new OrderRow(resultSet.getLong(1), resultSet.getBigDecimal(2)),
+                tenant.businessId, lastId);
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i).placedAt = placedAt[Math.min(from + i, placedAt.length - 1)];
+            }
+            for (int chunk = 0; chunk < rows.size(); chunk += SERVICE_CHUNK) {
+                settle(rows.subList(chunk, Math.min(chunk + SERVICE_CHUNK, rows.size())), tenant, trackingSeen);
+            }
+            imported += rows.size();
+        }
+        return imported;
+    }
+    
+    // Pays, ships and advances a chunk of orders, then backdates everything that was touched
+    private void settle(List<OrderRow> rows, LoadManifest.Tenant tenant, long[] trackingSeen) {
+        PaymentService paymentService = context.getBean(PaymentService.class);
+        ShipmentService shipmentService = context.getBean(ShipmentService.class);
+        List<Object[]> orderUpdates = new ArrayList<>(rows.size());
+        List<Object[]> paymentUpdates = new ArrayList<>();
+        List<Object[]> shipmentUpdates = new ArrayList<>();
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            for (OrderRow row : rows) {
+                LocalDateTime touchedAt = row.placedAt;
+                double roll = random.nextDouble();
+                if (roll < paidRatio + partialRatio) {
+                    boolean partial = roll >= paidRatio;
+                    PaymentRequest request = new PaymentRequest();
+                    request.setOrderId(row.id);
+                    request.setAmount(partial
+                        ? row.total.multiply(new BigDecimal("0.40")).setScale(2, RoundingMode.HALF_UP)
+                        : row.total);
+                    request.setPaymentMethod(Payment.PaymentMethod.values()[pick(PAYMENT_METHOD_WEIGHTS)]);
+                    request.setTransactionReference("LG-" + runId + "-" + row.id);
+                    Payment payment = paymentService.processPayment(request);
+                    touchedAt = cap(row.placedAt.plusMinutes(random.nextInt(180)));
+                    paymentUpdates.add(new Object[] {timestamp(touchedAt), timestamp(touchedAt), payment.getId()});
+                    
+                    if (!partial && random.nextDouble() < shippedRatio) {
+                        touchedAt = ship(row, touchedAt, shipmentService, shipmentUpdates, tenant, trackingSeen);
+                    }
+                }
+                orderUpdates.add(new Object[] {timestamp(row.placedAt), timestamp(touchedAt), row.id});
+            }
+        });
+        
+        // Separate transaction: auditing would stamp the current time again when the entities flush
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("UPDATE orders SET created_at = ?, updated_at = ? WHERE id = ?", orderUpdates);
+            if (!paymentUpdates.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE payments SET created_at = ?, updated_at = ? WHERE id = ?", paymentUpdates);
+            }
+            if (!shipmentUpdates.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE shipments SET created_at = ?, updated_at = ?, actual_delivery = ? " +
+                    "WHERE id = ?", shipmentUpdates);
+            }
+        });
+    }
+    
+    private LocalDateTime ship(OrderRow row, LocalDateTime paidAt, ShipmentService shipmentService,
+                               List<Object[]> shipmentUpdates, LoadManifest.Tenant tenant, long[] trackingSeen) {
+        LocalDateTime shippedAt = cap(paidAt.plusHours(2 + random.nextInt(46)));
+        ShipmentRequest request = new ShipmentRequest();
+        request.setOrderId(row.id);
+        request.setCarrierName(CARRIERS[random.nextInt(CARRIERS.length)]);
+        request.setEstimatedDelivery(shippedAt.plusDays(3));
+        request.setShippingCost(BigDecimal.valueOf(1500 + random.nextInt(8) * 500L).setScale(2));
+        request.setReceiverAddress(row.id + " Market Road, " + CITIES[random.nextInt(CITIES.length)]);
+        request.setPackageWeight(BigDecimal.valueOf(1 + random.nextInt(200), 1));
+        request.setPackageValue(row.total);
+        Shipment shipment = shipmentService.createShipment(request);
+        
+        long ageDays = Duration.between(row.placedAt, now).toDays();
+        Shipment.ShipmentStatus shipmentStatus = Shipment.ShipmentStatus.PREPARING;
+        if (ageDays > 10) {
+            shipmentStatus = Shipment.ShipmentStatus.DELIVERED;
+        } else if (ageDays > 3) {
+            shipmentStatus = random.nextDouble() < 0.05 ? Shipment.ShipmentStatus.DELAYED : Shipment.ShipmentStatus.IN_TRANSIT;
+        }
+        if (shipmentStatus != Shipment.ShipmentStatus.PREPARING) {
+            shipmentService.updateShipmentStatus(shipment.getId(), shipmentStatus);
+        }
+        
+        LocalDateTime deliveredAt = shipmentStatus == Shipment.ShipmentStatus.DELIVERED
+            ? cap(shippedAt.plusDays(2 + random.nextInt(6)))
+            : null;
+        LocalDateTime touchedAt = deliveredAt != null ? deliveredAt : shippedAt;
+        shipmentUpdates.add(new Object[] {timestamp(shippedAt), timestamp(touchedAt), timestamp(deliveredAt), shipment.getId()});
+        
+        // Reservoir sample, so the manifest's tracking numbers are spread over the whole history
+        long seen = ++trackingSeen[0];
+        if (tenant.trackingNumbers.size() < MANIFEST_TRACKING_NUMBERS) {
+            tenant.trackingNumbers.add(shipment.getTrackingNumber());
+        } else {
+            long slot = random.nextLong(seen);
+            if (slot < MANIFEST_TRACKING_NUMBERS) {
+                tenant.trackingNumbers.set((int) slot, shipment.getTrackingNumber());
+            }
+        }
+        return touchedAt;
+    }
+    
+    // Inserted directly: the service collapses repeats into one row, which would hide the volume
+    private void seedNotifications(Long businessId, int count) {
+        NotificationRepository notificationRepository = context.getBean(NotificationRepository.class);
+        BusinessRepository businessRepository = context.getBean(BusinessRepository.class);
+        LocalDateTime[] createdAt = orderTimes(count);
+        for (int from = 0; from < count; from += IMPORT_BATCH) {
+            int start = from;
+            int end = Math.min(from + IMPORT_BATCH, count);
+            List<Object[]> updates = new ArrayList<>(end - start);
+            transactionTemplate.executeWithoutResult(status -> {
+                Business business = businessRepository.getReferenceById(businessId);
+                List<Notification> batch = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    String[] template = NOTIFICATIONS[random.nextInt(NOTIFICATIONS.length)];
+                    Notification notification = new Notification(template[0], template[1],
+                        String.format(template[2], "LG-" + runId + "-" + i), business);
+                    boolean old = Duration.between(createdAt[i], now).toDays() > 3;
+                    notification.setIsRead(random.nextDouble() < (old ? 0.9 : 0.3));
+                    notification.setActionRequired("LOW_STOCK".equals(template[0]));
+                    batch.add(notification);
+                }
+                List<Notification> saved = notificationRepository.saveAll(batch);
+                for (int i = 0; i < saved.size(); i++) {
+                    Timestamp time = timestamp(createdAt[start + i]);
+                    updates.add(new Object[] {time, time, saved.get(i).getId()});
+                }
+            });
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate("UPDATE notifications SET created_at = ?, updated_at = ? WHERE id = ?", updates));
+        }
+    }
+    
+    private OrderRequest orderRequest(int customer, List<LoadManifest.ProductRef> products, ZipfDistribution popularity) {
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Customer " + customer);
+        request.setCustomerEmail("customer" + customer + "@example.com");
+        request.setCustomerPhone("0803" + (1000000 + customer % 9000000));
+        request.setShippingAddress((customer % 200 + 1) + " Market Road, " + CITIES[customer % CITIES.length]);
+        request.setOrderSource(SOURCES[pick(SOURCE_WEIGHTS)]);
+        request.setPaymentStatus(Order.PaymentStatus.PENDING);
+        
+        int itemCount = Math.min(itemCount(), products.size());
+        Set<Integer> ranks = new LinkedHashSet<>();
+        for (int attempt = 0; ranks.size() < itemCount && attempt < itemCount * 4; attempt++) {
+            ranks.add(popularity.sample(random));
+        }
+        List<OrderItemRequest> items = new ArrayList<>(ranks.size());
+        for (int rank : ranks) {
+            LoadManifest.ProductRef product = products.get(rank);
+            int quantity = random.nextDouble() < 0.7 ? 1 : 2 + random.nextInt(4);
+            items.add(new OrderItemRequest(product.id, quantity, product.price));
+        }
+        request.setOrderItems(items);
+        return request;
+    }
+    
+    // Geometric with the configured mean, so most orders are small and a few are large
+    private int itemCount() {
+        double stop = 1.0 / Math.max(1.0, itemsMean);
+        int count = 1;
+        while (count < itemsMax && random.nextDouble() > stop) {
+            count++;
+        }
+        return count;
+    }
+    
+    // Sorted ascending; volume grows linearly towards today and follows the hourly weights
+    private LocalDateTime[] orderTimes(int count) {
+        LocalDateTime[] times = new LocalDateTime[count];
+        for (int i = 0; i < count; i++) {
+            int daysAgo = (int) ((1 - Math.sqrt(random.nextDouble())) * days);
+            LocalDateTime time = now.toLocalDate().minusDays(daysAgo)
+                .atTime(pick(HOURLY_WEIGHTS), random.nextInt(60), random.nextInt(60));
+            times[i] = time.isAfter(now) ? time.minusDays(1) : time;
+        }
+        Arrays.sort(times);
+        return times;
+    }
+    
+    private int stock(int rank) {
+        if (rank < MANIFEST_PRODUCTS) {
+            return hotStock;
+        }
+        // About one product in ten sits below its reorder level
+        return random.nextDouble() < 0.1 ? random.nextInt(10) : 10 + random.nextInt(490);
+    }
+    
+    // Log-uniform between 500 and 100,000, rounded to 50
+    private BigDecimal price() {
+        double price = Math.exp(Math.log(500) + random.nextDouble() * (Math.log(100000) - Math.log(500)));
+        return BigDecimal.valueOf(Math.max(1, Math.round(price / 50)) * 50).setScale(2);
+    }
+    
+    private int pick(double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double target = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+    
+    private LocalDateTime cap(LocalDateTime time) {
+        return time.isAfter(now) ? now : time;
+    }
+    
+    private static Timestamp timestamp(LocalDateTime time) {
+        return time == null ? null : Timestamp.valueOf(time);
+    }
+    
+    private static final class OrderRow {
+        private final long id;
+        private final BigDecimal total;
+        private LocalDateTime placedAt;
+        
+        OrderRow(long id, BigDecimal total) {
+            this.id = id;
+            this.total = total;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,390 @@
+package com.orderlee.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load driver for the tenants in a {@link LoadManifest}. Requests are started on a
+ * fixed schedule at the target rate regardless of how fast responses come back, and latency is
+ * measured from the scheduled start, so a stalled server shows up in the percentiles instead of
+ * silently lowering the offered load. Tenants are picked by their weight in the manifest.
+ *
+ * <pre>java -cp benchmarks.jar com.orderlee.benchmarks.load.LoadDriver --base-url=http://localhost:8080 \
+ *     --rate=200 --duration=120 --mix=create-order=5,list-orders=15,search=35,dashboard=15,tracking=30</pre>
+ */
+public final class LoadDriver {
+    
+    private static final String DEFAULT_MIX = "create-order=5,list-orders=15,search=35,dashboard=15,tracking=30";
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+    
+    enum Endpoint {
+        CREATE_ORDER("create-order"),
+        LIST_ORDERS("list-orders"),
+        SEARCH("search"),
+        DASHBOARD("dashboard"),
+        TRACKING("tracking");
+        
+        private final String key;
+        
+        Endpoint(String key) {
+            this.key = key;
+        }
+        
+        static Endpoint of(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equals(key)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint in mix: " + key);
+        }
+    }
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private final double trackingMissRatio;
+    private final Random random;
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+    private final LongAdder dropped = new LongAdder();
+    
+    private LoadDriver(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = option("base-url", "http://localhost:8080").replaceAll("/+$", "");
+        this.timeout = Duration.ofMillis(Long.parseLong(option("timeout-ms", "10000")));
+        this.trackingMissRatio = Double.parseDouble(option("tracking-miss-ratio", "0.1"));
+        this.random = new Random(Long.parseLong(option("seed", "7")));
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new Stats());
+        }
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        System.exit(new LoadDriver(options).run());
+    }
+    
+    private int run() throws Exception {
+        LoadManifest manifest = LoadManifest.read(new File(option("manifest", "loadgen-manifest.json")));
+        List<Session> sessions = login(manifest);
+        double[] tenantWeights = sessions.stream().mapToDouble(session -> session.tenant.weight).toArray();
+        
+        Map<Endpoint, Double> mix = parseMix(option("mix", DEFAULT_MIX));
+        Endpoint[] endpoints = mix.keySet().toArray(new Endpoint[0]);
+        double[] endpointWeights = mix.values().stream().mapToDouble(Double::doubleValue).toArray();
+        
+        double rate = Double.parseDouble(option("rate", "100"));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("warmup", "10")));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("duration", "60")));
+        int maxInFlight = Integer.parseInt(option("max-in-flight", "512"));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        
+        System.out.printf("Driving %s at %.0f req/s for %d s after %d s of warmup, %d tenants%n", baseUrl, rate,
+            TimeUnit.NANOSECONDS.toSeconds(durationNanos), TimeUnit.NANOSECONDS.toSeconds(warmupNanos), sessions.size());
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        long nextProgress = start + TimeUnit.SECONDS.toNanos(10);
+        for (long sequence = 0; ; sequence++) {
+            long intended = start + sequence * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (System.nanoTime() >= nextProgress) {
+                nextProgress += TimeUnit.SECONDS.toNanos(10);
+                System.out.printf("  %3d s  %d in flight%n", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start),
+                    maxInFlight - inFlight.availablePermits());
+            }
+            
+            boolean measured = intended >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                // The client is saturated; a request that cannot start counts against the run
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            Session session = sessions.get(pick(tenantWeights));
+            Endpoint endpoint = endpoints[pick(endpointWeights)];
+            // Unknown tracking numbers exercise the negative lookup path; their rejection is the expected answer
+            boolean expectMiss = endpoint == Endpoint.TRACKING
+                && (session.tenant.trackingNumbers.isEmpty() || random.nextDouble() < trackingMissRatio);
+            send(endpoint, request(endpoint, session, expectMiss), expectMiss, intended, measured, inFlight);
+        }
+        
+        // Let the requests already started finish before reporting
+        inFlight.tryAcquire(maxInFlight, timeout.toMillis() + 1000, TimeUnit.MILLISECONDS);
+        return report(durationNanos);
+    }
+    
+    private void send(Endpoint endpoint, HttpRequest request, boolean expectMiss, long intended, boolean measured,
+                      Semaphore inFlight) {
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            inFlight.release();
+            if (!measured) {
+                return;
+            }
+            Stats endpointStats = stats.get(endpoint);
+            endpointStats.latency.recordValue(Math.min(MAX_LATENCY_MICROS,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended)));
+            if (failure != null) {
+                endpointStats.failures.increment();
+            } else if (response.statusCode() >= 500) {
+                endpointStats.serverErrors.increment();
+            } else if (expectMiss && (response.statusCode() == 400 || response.statusCode() == 404)) {
+                endpointStats.expectedMisses.increment();
+            } else if (response.statusCode() >= 400) {
+                endpointStats.clientErrors.increment();
+            } else {
+                endpointStats.successes.increment();
+            }
+        });
+    }
+    
+    private HttpRequest request(Endpoint endpoint, Session session, boolean expectMiss) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(timeout);
+        LoadManifest.Tenant tenant = session.tenant;
+        switch (endpoint) {
+            case CREATE_ORDER:
+                return builder.uri(URI.create(baseUrl + "/api/orders"))
+                    .header("Authorization", "Bearer " + session.token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(orderBody(tenant)))
+                    .build();
+            case LIST_ORDERS:
+                return authorized(builder, session, "/api/orders?size=20");
+            case SEARCH:
+                String term = tenant.searchTerms.isEmpty() ? "a" : tenant.searchTerms.get(random.nextInt(tenant.searchTerms.size()));
+                return authorized(builder, session, "/api/products/search?query=" + URLEncoder.encode(term, StandardCharsets.UTF_8));
+            case DASHBOARD:
+                return authorized(builder, session, "/api/dashboard/stats");
+            case TRACKING:
+            default:
+                // Tracking is public
+                String trackingNumber = expectMiss
+                    ? "TRK" + Long.toString(random.nextLong() & Long.MAX_VALUE, 36).toUpperCase(Locale.ROOT)
+                    : tenant.trackingNumbers.get(random.nextInt(tenant.trackingNumbers.size()));
+                return builder.uri(URI.create(baseUrl + "/api/shipments/tracking/" +
+                    URLEncoder.encode(trackingNumber, StandardCharsets.UTF_8))).GET().build();
+        }
+    }
+    
+    private HttpRequest authorized(HttpRequest.Builder builder, Session session, String path) {
+        return builder.uri(URI.create(baseUrl + path)).header("Authorization", "Bearer " + session.token).GET().build();
+    }
+    
+    private String orderBody(LoadManifest.Tenant tenant) {
+        ObjectNode order = objectMapper.createObjectNode();
+        int customer = random.nextInt(100000);
+        order.put("customerName", "Load Customer " + customer);
+        order.put("customerEmail", "load" + customer + "@example.com");
+        order.put("customerPhone", "0805" + (1000000 + customer));
+        order.put("shippingAddress", customer + " Load Street, Lagos");
+        order.put("orderSource", "loadtest");
+        order.put("paymentStatus", "PENDING");
+        ArrayNode items = order.putArray("orderItems");
+        int itemCount = 1 + random.nextInt(3);
+        for (int i = 0; i < itemCount && !tenant.products.isEmpty(); i++) {
+            // Squaring a uniform value leans towards the head of the popularity-ordered list
+            double skewed = random.nextDouble();
+            LoadManifest.ProductRef product = tenant.products.get((int) (skewed * skewed * tenant.products.size()));
+            items.addObject()
+                .put("productId", product.id)
+                .put("quantity", 1)
+                .put("unitPrice", product.price);
+        }
+        return order.toString();
+    }
+    
+    private List<Session> login(LoadManifest manifest) throws Exception {
+        List<Session> sessions = new ArrayList<>(manifest.tenants.size());
+        for (LoadManifest.Tenant tenant : manifest.tenants) {
+            ObjectNode credentials = objectMapper.createObjectNode()
+                .put("email", tenant.email)
+                .put("password", tenant.password);
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(credentials.toString()))
+                    .build(),
+                HttpResponse.BodyHandlers.ofString());
+            JsonNode token = objectMapper.readTree(response.body()).path("data").path("accessToken");
+            if (response.statusCode() != 200 || token.isMissingNode()) {
+                throw new IllegalStateException("Login failed for " + tenant.email + ": " + response.body());
+            }
+            sessions.add(new Session(tenant, token.asText()));
+        }
+        return sessions;
+    }
+    
+    private int report(long durationNanos) throws Exception {
+        double seconds = durationNanos / 1e9;
+        Histogram overall = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalRequests = 0;
+        long totalMisses = 0;
+        long totalErrors = dropped.sum();
+        ObjectNode json = objectMapper.createObjectNode();
+        ObjectNode endpointsJson = json.putObject("endpoints");
+        
+        System.out.printf("%n%-13s %9s %9s %8s %8s %9s %9s %9s %9s %9s%n", "Endpoint", "Requests", "Req/s", "Misses",
+            "Errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Endpoint, Stats> entry : stats.entrySet()) {
+            Stats endpointStats = entry.getValue();
+            Histogram latency = endpointStats.latency.copy();
+            if (latency.getTotalCount() == 0) {
+                continue;
+            }
+            overall.add(latency);
+            long errors = endpointStats.errors();
+            totalRequests += latency.getTotalCount();
+            totalErrors += errors;
+            totalMisses += endpointStats.expectedMisses.sum();
+            printRow(entry.getKey().key, latency, endpointStats.expectedMisses.sum(), errors, seconds);
+            
+            ObjectNode endpointJson = endpointsJson.putObject(entry.getKey().key);
+            endpointJson.put("requests", latency.getTotalCount());
+            endpointJson.put("successes", endpointStats.successes.sum());
+            endpointJson.put("expectedMisses", endpointStats.expectedMisses.sum());
+            endpointJson.put("clientErrors", endpointStats.clientErrors.sum());
+            endpointJson.put("serverErrors", endpointStats.serverErrors.sum());
+            endpointJson.put("failures", endpointStats.failures.sum());
+            putPercentiles(endpointJson, latency);
+        }
+        if (overall.getTotalCount() > 0) {
+            printRow("all", overall, totalMisses, totalErrors - dropped.sum(), seconds);
+            putPercentiles(json.putObject("all"), overall);
+        }
+        
+        double errorRate = totalRequests + dropped.sum() == 0 ? 0 : (double) totalErrors / (totalRequests + dropped.sum());
+        System.out.printf("%nDropped (client saturated): %d, error rate: %.2f%%%n", dropped.sum(), errorRate * 100);
+        json.put("durationSeconds", seconds);
+        json.put("dropped", dropped.sum());
+        json.put("errorRate", errorRate);
+        if (options.containsKey("report")) {
+            objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(options.get("report")), json);
+        }
+        
+        double maxErrorRate = Double.parseDouble(option("max-error-rate", "1"));
+        return errorRate > maxErrorRate ? 1 : 0;
+    }
+    
+    private static void printRow(String name, Histogram latency, long misses, long errors, double seconds) {
+        System.out.printf("%-13s %9d %9.1f %7.2f%% %7.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, latency.getTotalCount(),
+            latency.getTotalCount() / seconds, 100.0 * misses / latency.getTotalCount(), 100.0 * errors / latency.getTotalCount(),
+            millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+            millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+            millis(latency.getMaxValue()));
+    }
+    
+    private static void putPercentiles(ObjectNode node, Histogram latency) {
+        node.put("p50Ms", millis(latency.getValueAtPercentile(50)));
+        node.put("p90Ms", millis(latency.getValueAtPercentile(90)));
+        node.put("p99Ms", millis(latency.getValueAtPercentile(99)));
+        node.put("p999Ms", millis(latency.getValueAtPercentile(99.9)));
+        node.put("maxMs", millis(latency.getMaxValue()));
+    }
+    
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+    
+    private Map<Endpoint, Double> parseMix(String mix) {
+        Map<Endpoint, Double> weights = new EnumMap<>(Endpoint.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            double weight = Double.parseDouble(pair[1]);
+            if (weight > 0) {
+                weights.put(Endpoint.of(pair[0]), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix selects no endpoints: " + mix);
+        }
+        return weights;
+    }
+    
+    private int pick(double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double target = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+    
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+    
+    private static final class Session {
+        private final LoadManifest.Tenant tenant;
+        private final String token;
+        
+        Session(LoadManifest.Tenant tenant, String token) {
+            this.tenant = tenant;
+            this.token = token;
+        }
+    }
+    
+    private static final class Stats {
+        private final ConcurrentHistogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder successes = new LongAdder();
+        // Deliberate lookups of unknown tracking numbers that were correctly turned away; not errors
+        private final LongAdder expectedMisses = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        
+        long errors() {
+            return clientErrors.sum() + serverErrors.sum() + failures.sum();
+        }
+    }
+}
\ No newline at end of file
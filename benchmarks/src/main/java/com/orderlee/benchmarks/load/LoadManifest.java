@@ -0,0 +1,54 @@
+package com.orderlee.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What {@link DataGenerator} created and {@link LoadDriver} needs to address it: tenant credentials,
+ * each tenant's share of traffic, and samples of its products and tracking numbers.
+ */
+public class LoadManifest {
+    
+    public String generatedAt;
+    public long seed;
+    public List<Tenant> tenants = new ArrayList<>();
+    
+    public static LoadManifest read(File file) throws IOException {
+        return new ObjectMapper().readValue(file, LoadManifest.class);
+    }
+    
+    public void write(File file) throws IOException {
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, this);
+    }
+    
+    public static class Tenant {
+        public Long businessId;
+        public String email;
+        public String password;
+        public double weight;
+        public long productCount;
+        public long orderCount;
+        // Most popular first
+        public List<ProductRef> products = new ArrayList<>();
+        public List<String> searchTerms = new ArrayList<>();
+        public List<String> trackingNumbers = new ArrayList<>();
+    }
+    
+    public static class ProductRef {
+        public Long id;
+        public BigDecimal price;
+        
+        public ProductRef() {}
+        
+        public ProductRef(Long id, BigDecimal price) {
+            this.id = id;
+            this.price = price;
+        }
+    }
+}
\ No newline at end of file
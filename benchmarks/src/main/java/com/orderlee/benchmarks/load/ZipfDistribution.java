@@ -0,0 +1,41 @@
+package com.orderlee.benchmarks.load;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Samples ranks 0..size-1 with probability proportional to 1 / (rank + 1)^exponent, so rank 0 is the
+ * most popular. An exponent of 0 is uniform; around 1 gives the long tail seen in real catalogs.
+ */
+final class ZipfDistribution {
+    
+    private final double[] cumulative;
+    
+    ZipfDistribution(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+    }
+    
+    int size() {
+        return cumulative.length;
+    }
+    
+    // Share of all samples that land on the given rank
+    double weight(int rank) {
+        double previous = rank == 0 ? 0 : cumulative[rank - 1];
+        return (cumulative[rank] - previous) / cumulative[cumulative.length - 1];
+    }
+    
+    int sample(Random random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int at = Arrays.binarySearch(cumulative, target);
+        return Math.min(at >= 0 ? at : -at - 1, cumulative.length - 1);
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 import { useState, useEffect } from 'react';
 import apiClient from '../services/api';
+import type { CursorPage, PageParams } from '../services/api';
 
 interface UseApiState<T> {
   data: T | null;
@@ -48,6 +49,54 @@ export function useApi<T>(
   };
 }
 
+// Loads the first page of a list endpoint; loadMore appends the next one while hasMore is true
+export function usePagedApi<T>(
+  fetchPage: (params: PageParams) => Promise<CursorPage<T>>,
+  options: UseApiOptions = { immediate: true }
+) {
+  const [state, setState] = useState<UseApiState<T[]>>({
+    data: null,
+    loading: false,
+    error: null,
+  });
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [hasMore, setHasMore] = useState(false);
+
+  const load = async (cursor?: string | null) => {
+    setState(prev => ({ ...prev, loading: true, error: null }));
+
+    try {
+      const page = await fetchPage({ cursor });
+      setState(prev => ({
+        data: cursor ? [...(prev.data || []), ...page.items] : page.items,
+        loading: false,
+        error: null,
+      }));
+      setNextCursor(page.nextCursor);
+      setHasMore(page.hasMore);
+      return page;
+    } catch (error) {
+      const errorMessage = error instanceof Error ? error.message : 'An error occurred';
+      setState(prev => ({ ...prev, loading: false, error: errorMessage }));
+      throw error;
+    }
+  };
+
+  useEffect(() => {
+    if (options.immediate) {
+      load();
+    }
+  }, []);
+
+  return {
+    ...state,
+    hasMore,
+    loadMore: () => (hasMore && nextCursor ? load(nextCursor) : Promise.resolve(null)),
+    execute: () => load(),
+    refetch: () => load(),
+  };
+}
+
 // Specific hooks for common operations
 export function useAuth() {
   const [isAuthenticated, setIsAuthenticated] = useState(false);
@@ -122,23 +171,23 @@ export function useDashboard() {
 }
 
 export function useProducts() {
-  return useApi(() => apiClient.getProducts());
+  return usePagedApi(params => apiClient.getProducts(params));
 }
 
 export function useOrders() {
-  return useApi(() => apiClient.getOrders());
+  return usePagedApi(params => apiClient.getOrders(params));
 }
 
 export function usePayments() {
-  return useApi(() => apiClient.getPayments());
+  return usePagedApi(params => apiClient.getPayments(params));
 }
 
 export function useShipments() {
-  return useApi(() => apiClient.getShipments());
+  return usePagedApi(params => apiClient.getShipments(params));
 }
 
 export function useNotifications() {
-  return useApi(() => apiClient.getNotifications());
+  return usePagedApi(params => apiClient.getNotifications(params));
 }
 
 export function useBusiness() {
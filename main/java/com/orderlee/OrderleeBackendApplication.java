@@ -3,11 +3,23 @@ package com.orderlee;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class OrderleeBackendApplication {
     public static void main(String[] args) {
-        SpringApplication.run(OrderleeBackendApplication.class, args);
+        SpringApplication application = new SpringApplication(OrderleeBackendApplication.class);
+        // Defaults only; any property source, including the command line, overrides them
+        application.setDefaultProperties(Map.of(
+            "management.endpoints.web.exposure.include", "health,prometheus",
+            // Actuator gets its own port, which is left off the public load balancer
+            "management.server.port", "8081",
+            "spring.datasource.hikari.pool-name", "primary"
+        ));
+        application.run(args);
     }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.orderlee.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Moves each entity id sequence past the highest id already in its table. Tables that were filled
+ * while ids came from IDENTITY columns would otherwise collide with the first ids the new
+ * sequences hand out. Runs during startup, before the web server accepts requests; a sequence
+ * that is already ahead is left alone, so this is a no-op after the first run.
+ */
+@Component
+public class IdSequenceAligner {
+    
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAligner.class);
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${orderlee.id.align-sequences:true}")
+    private boolean enabled;
+    
+    @PostConstruct
+    public void align() {
+        if (!enabled) {
+            return;
+        }
+        
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof SequenceStyleGenerator generator
+                    && persister instanceof AbstractEntityPersister entity) {
+                try {
+                    align(dialect, entity, generator.getDatabaseStructure());
+                } catch (DataAccessException e) {
+                    log.warn("Could not align the id sequence of {}", entity.getTableName(), e);
+                }
+            }
+        });
+    }
+    
+    private void align(Dialect dialect, AbstractEntityPersister entity, DatabaseStructure structure) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + entity.getIdentifierColumnNames()[0] + ") FROM " +
+            entity.getTableName(), Long.class);
+        if (maxId == null) {
+            return;
+        }
+        
+        // The pooled optimizer turns a fetched value v into the ids (v - increment, v]
+        long target = maxId + structure.getIncrementSize();
+        String name = structure.getPhysicalName().render();
+        if (structure instanceof SequenceStructure) {
+            Long next = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(name), Long.class);
+            if (next != null && next < target) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + name + " RESTART WITH " + target);
+                log.info("Moved id sequence {} to {}", name, target);
+            }
+        } else {
+            // Table-backed sequence, e.g. on MySQL; the conditional update never moves it backwards
+            if (jdbcTemplate.update("UPDATE " + name + " SET next_val = ? WHERE next_val < ?", target, target) > 0) {
+                log.info("Moved id table {} to {}", name, target);
+            }
+        }
+    }
+}
\ No newline at end of file
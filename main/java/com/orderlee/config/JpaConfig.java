@@ -0,0 +1,33 @@
+package com.orderlee.config;
+
+import com.orderlee.model.PooledSequenceGenerator;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class JpaConfig implements HibernatePropertiesCustomizer {
+
+    @Value("${orderlee.jpa.batch-size:50}")
+    private int batchSize;
+
+    @Value("${orderlee.id.allocation-size:50}")
+    private int allocationSize;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        // Group statements into JDBC batches; explicit spring.jpa.properties.* values still win
+        hibernateProperties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+        hibernateProperties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        hibernateProperties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+        hibernateProperties.putIfAbsent(PooledSequenceGenerator.ALLOCATION_SIZE_SETTING, allocationSize);
+        // Spring defaults to holding the connection until the EntityManager closes, which under
+        // open-in-view is the end of the request; hand it back when each transaction ends instead
+        hibernateProperties.putIfAbsent(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,139 @@
+package com.orderlee.config;
+
+import com.orderlee.model.StripeWebhookEvent;
+import com.orderlee.repository.EmailOutboxRepository;
+import com.orderlee.repository.StripeWebhookEventRepository;
+import com.orderlee.security.UserPrincipalCache;
+import com.orderlee.service.impl.NotificationBroadcaster;
+import com.orderlee.service.impl.StripeWebhookProcessor;
+import com.orderlee.service.impl.TrackingLookupCache;
+import com.orderlee.service.impl.UnreadNotificationCounter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Metrics published on /actuator/prometheus, served on the management port (8081 by default) so
+ * only the internal network can scrape them. Spring Boot already times every controller endpoint
+ * (http.server.requests) and reports Hikari pool, JVM and GC metrics; this adds the service timers
+ * behind {@code @Timed}, SLO histogram buckets for request, service and connection-acquire latency,
+ * and gauges for the in-process caches and work queues.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    private static final String[] SLO_TIMERS = {"http.server.requests", "orderlee.", "hikaricp.connections.acquire"};
+    
+    @Value("${spring.application.name:orderlee-backend}")
+    private String applicationName;
+    
+    @Value("${orderlee.metrics.slo-ms:5,10,25,50,100,250,500,1000,2500,5000}")
+    private long[] sloMs;
+    
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> commonTags() {
+        return registry -> registry.config().commonTags("application", applicationName);
+    }
+    
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+    
+    // Fixed buckets aggregate across instances, unlike client-side percentiles
+    @Bean
+    public MeterFilter sloBuckets() {
+        double[] slos = Arrays.stream(sloMs).mapToDouble(ms -> Duration.ofMillis(ms).toNanos()).toArray();
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || Arrays.stream(SLO_TIMERS).noneMatch(id.getName()::startsWith)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                    .serviceLevelObjectives(slos)
+                    .build()
+                    .merge(config);
+            }
+        };
+    }
+    
+    @Bean
+    public MeterBinder queueMetrics(EmailOutboxRepository emailOutboxRepository,
+                                    StripeWebhookEventRepository webhookEventRepository,
+                                    StripeWebhookProcessor webhookProcessor,
+                                    NotificationBroadcaster notificationBroadcaster) {
+        return registry -> {
+            // Database counts, evaluated on scrape against indexed status columns
+            Gauge.builder("orderlee.email.outbox.queued", emailOutboxRepository, EmailOutboxRepository::countQueued)
+                .description("Emails waiting to be sent or being sent")
+                .register(registry);
+            Gauge.builder("orderlee.stripe.webhook.pending", webhookEventRepository,
+                    repository -> repository.countByStatus(StripeWebhookEvent.EventStatus.PENDING))
+                .description("Stored Stripe events not yet applied")
+                .register(registry);
+            Gauge.builder("orderlee.stripe.webhook.queue", webhookProcessor, StripeWebhookProcessor::getQueueDepth)
+                .description("Stripe events queued in memory for the worker pool")
+                .register(registry);
+            Gauge.builder("orderlee.notifications.stream.connections", notificationBroadcaster,
+                    NotificationBroadcaster::getConnectionCount)
+                .description("Open notification event streams")
+                .register(registry);
+        };
+    }
+    
+    @Bean
+    public MeterBinder cacheMetrics(UserPrincipalCache principalCache,
+                                    TrackingLookupCache trackingLookupCache,
+                                    UnreadNotificationCounter unreadNotificationCounter) {
+        return registry -> {
+            bindCache(registry, "user-principal", principalCache, UserPrincipalCache::size,
+                UserPrincipalCache::getHitCount, UserPrincipalCache::getMissCount);
+            bindCache(registry, "tracking-lookup", trackingLookupCache, TrackingLookupCache::size,
+                TrackingLookupCache::getHitCount, TrackingLookupCache::getMissCount);
+            FunctionCounter.builder("orderlee.tracking.filtered", trackingLookupCache, TrackingLookupCache::getFilteredCount)
+                .description("Tracking lookups rejected by the Bloom filter")
+                .register(registry);
+            Gauge.builder("cache.size", unreadNotificationCounter, UnreadNotificationCounter::size)
+                .tag("cache", "unread-notifications")
+                .register(registry);
+        };
+    }
+    
+    // Uses Micrometer's cache meter names, so standard cache dashboards apply; the target must be a long-lived bean
+    public static <T> void bindCache(MeterRegistry registry, String cache, T target, ToDoubleFunction<T> size,
+                                     ToDoubleFunction<T> hits, ToDoubleFunction<T> misses) {
+        Gauge.builder("cache.size", target, size)
+            .tag("cache", cache)
+            .register(registry);
+        FunctionCounter.builder("cache.gets", target, hits)
+            .tag("cache", cache)
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("cache.gets", target, misses)
+            .tag("cache", cache)
+            .tag("result", "miss")
+            .register(registry);
+        Gauge.builder("orderlee.cache.hit.ratio", target, value -> {
+                double hitCount = hits.applyAsDouble(value);
+                double total = hitCount + misses.applyAsDouble(value);
+                return total == 0 ? 0.0 : hitCount / total;
+            })
+            .description("Share of lookups served from the cache since startup")
+            .tag("cache", cache)
+            .register(registry);
+    }
+}
\ No newline at end of file
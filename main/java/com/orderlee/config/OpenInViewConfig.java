@@ -0,0 +1,40 @@
+package com.orderlee.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers open-in-view in place of Spring Boot's, which applies to every request. Requests that
+ * outlive a normal call are left out: a notification stream stays open for as long as the client
+ * is connected, and a bulk import commits chunk after chunk, so a request-wide EntityManager would
+ * pin a connection for the stream and keep every imported row managed until the upload ends.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.jpa", name = "open-in-view", havingValue = "true", matchIfMissing = true)
+public class OpenInViewConfig implements WebMvcConfigurer {
+    
+    private static final String[] LONG_RUNNING_PATHS = {"/api/notifications/stream", "/api/orders/import"};
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    // Declaring the interceptor turns off Spring Boot's own registration
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        return interceptor;
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+            .excludePathPatterns(LONG_RUNNING_PATHS);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.orderlee.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each business last committed a write, so its reads can stay on the primary until
+ * the replica has had time to catch up. Windows are per instance.
+ */
+public class ReadYourWritesWindow {
+    
+    private final long windowMs;
+    private final ConcurrentHashMap<Long, Long> lastWrites = new ConcurrentHashMap<>();
+    
+    public ReadYourWritesWindow(long windowMs) {
+        this.windowMs = windowMs;
+    }
+    
+    public void recordWrite(Long businessId) {
+        if (windowMs > 0) {
+            lastWrites.put(businessId, System.currentTimeMillis());
+        }
+    }
+    
+    public boolean isOpen(Long businessId) {
+        Long lastWrite = lastWrites.get(businessId);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < windowMs;
+    }
+    
+    @Scheduled(fixedDelay = 60000)
+    public void purge() {
+        long closedBefore = System.currentTimeMillis() - windowMs;
+        lastWrites.values().removeIf(lastWrite -> lastWrite < closedBefore);
+    }
+}
\ No newline at end of file
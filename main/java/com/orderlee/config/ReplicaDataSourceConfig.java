@@ -0,0 +1,70 @@
+package com.orderlee.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Adds a read replica when {@code orderlee.datasource.replica.url} is set. The primary pool is
+ * built from the usual {@code spring.datasource.*} properties; read-only transactions are routed
+ * to the replica pool by {@link ReplicaRoutingDataSource}. Without the property the auto-configured
+ * single DataSource is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "orderlee.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+    
+    @Bean
+    @ConfigurationProperties("orderlee.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${orderlee.datasource.replica.url}") String url,
+                                              @Value("${orderlee.datasource.replica.username:}") String username,
+                                              @Value("${orderlee.datasource.replica.password:}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(username.isEmpty() ? properties.determineUsername() : username)
+            .password(password.isEmpty() ? properties.determinePassword() : password)
+            .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+    
+    @Bean
+    public ReadYourWritesWindow readYourWritesWindow(
+            @Value("${orderlee.datasource.replica.read-your-writes-ms:5000}") long windowMs) {
+        return new ReadYourWritesWindow(windowMs);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReadYourWritesWindow readYourWritesWindow) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(readYourWritesWindow);
+        routing.setTargetDataSources(Map.of(
+            ReplicaRoutingDataSource.Route.PRIMARY, primaryDataSource,
+            ReplicaRoutingDataSource.Route.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.orderlee.config;
+
+import com.orderlee.security.TenantContext;
+import com.orderlee.util.TransactionHooks;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for a connection
+ * before the transaction's read-only flag is published, and the proxy defers the choice of target
+ * until the first statement. Loads whose result is cached go through {@link #onPrimary}, since a
+ * replica read that lags a committed write would otherwise be served for the whole cache TTL.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+    
+    // Set while a cache-populating load runs on this thread
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+    
+    private final ReadYourWritesWindow readYourWrites;
+    
+    public ReplicaRoutingDataSource(ReadYourWritesWindow readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+    
+    /**
+     * Runs the loader with its reads sent to the primary. The route is fixed when a transaction
+     * first touches its connection, so the loader must open its own transaction (repository calls
+     * made outside one do). Harmless when no replica is configured.
+     */
+    public static <T> T onPrimary(Supplier<T> loader) {
+        Boolean outer = PINNED_TO_PRIMARY.get();
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return loader.get();
+        } finally {
+            if (outer == null) {
+                PINNED_TO_PRIMARY.remove();
+            }
+        }
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        TenantContext tenant = TenantContext.getCurrent();
+        Long businessId = tenant != null ? tenant.getBusinessId() : null;
+        
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (PINNED_TO_PRIMARY.get() != null) {
+                return Route.PRIMARY;
+            }
+            // A business that just wrote keeps reading from the primary until the replica catches up
+            return businessId != null && readYourWrites.isOpen(businessId) ? Route.PRIMARY : Route.REPLICA;
+        }
+        
+        if (businessId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionHooks.afterCommit(() -> readYourWrites.recordWrite(businessId));
+        }
+        return Route.PRIMARY;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.orderlee.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Copies business_id from the owning order onto payments and shipments written before those
+ * tables carried it. Tenant listings filter on the copied column, so rows left without it would
+ * drop out of them. Runs during startup in small batches; once every row is filled each table
+ * costs a single indexed probe.
+ */
+@Component
+// After Hibernate has brought the schema up to date, so the column exists
+@DependsOn("entityManagerFactory")
+public class TenantColumnBackfill {
+    
+    private static final Logger log = LoggerFactory.getLogger(TenantColumnBackfill.class);
+    
+    private static final String[] TABLES = {"payments", "shipments"};
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${orderlee.backfill.business-id.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${orderlee.backfill.business-id.batch-size:5000}")
+    private int batchSize;
+    
+    @PostConstruct
+    public void backfill() {
+        if (!enabled) {
+            return;
+        }
+    
+        for (String table : TABLES) {
+            try {
+                backfill(table);
+            } catch (DataAccessException e) {
+                log.warn("Could not backfill business_id on {}", table, e);
+            }
+        }
+    }
+    
+    private void backfill(String table) {
+        long filled = 0;
+        int updated;
+        do {
+            // Each batch commits on its own, so a large table never holds one long lock
+            updated = jdbcTemplate.update("UPDATE " + table + " SET business_id = " +
+                "(SELECT o.business_id FROM orders o WHERE o.id = " + table + ".order_id) " +
+                "WHERE business_id IS NULL AND order_id IN " +
+                "(SELECT o.id FROM orders o WHERE o.business_id IS NOT NULL) LIMIT " + batchSize);
+            filled += updated;
+        } while (updated == batchSize);
+    
+        if (filled > 0) {
+            log.info("Backfilled business_id on {} rows of {}", filled, table);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.orderlee.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WebServerConfig implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+    
+    // Each open notification stream holds a connection; Tomcat's default cap of 8192 is too low for that
+    @Value("${orderlee.server.max-connections:20000}")
+    private int maxConnections;
+    
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        factory.addConnectorCustomizers(connector -> connector.setProperty("maxConnections", String.valueOf(maxConnections)));
+    }
+}
\ No newline at end of file
@@ -1,13 +1,14 @@
 package com.orderlee.controller;
 
 import com.orderlee.dto.response.ApiResponse;
-import com.orderlee.model.Notification;
+import com.orderlee.dto.response.CursorPage;
+import com.orderlee.dto.response.NotificationResponse;
 import com.orderlee.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -18,9 +19,11 @@ public class NotificationController {
     private NotificationService notificationService;
     
     @GetMapping
-    public ResponseEntity<?> getNotifications() {
+    public ResponseEntity<?> getNotifications(@RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer size) {
         try {
-            List<Notification> notifications = notificationService.getNotificationsByBusiness();
+            CursorPage<NotificationResponse> notifications = notificationService.getNotificationsByBusiness(cursor, size)
+                .map(NotificationResponse::from);
             return ResponseEntity.ok(new ApiResponse(true, "Notifications retrieved successfully", notifications));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -28,6 +31,36 @@ public class NotificationController {
         }
     }
     
+    @GetMapping("/unread-count")
+    public ResponseEntity<?> getUnreadCount() {
+        try {
+            Long unreadCount = notificationService.getUnreadCount();
+            return ResponseEntity.ok(new ApiResponse(true, "Unread count retrieved successfully",
+                java.util.Map.of("unreadCount", unreadCount)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+    
+    // Exchanged for the Authorization header right before opening /stream?ticket=...
+    @PostMapping("/stream-ticket")
+    public ResponseEntity<?> issueStreamTicket() {
+        try {
+            String ticket = notificationService.issueStreamTicket();
+            return ResponseEntity.ok(new ApiResponse(true, "Stream ticket issued",
+                java.util.Map.of("ticket", ticket)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+    
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications() {
+        return notificationService.openStream();
+    }
+    
     @PutMapping("/{notificationId}/read")
     public ResponseEntity<?> markAsRead(@PathVariable Long notificationId) {
         try {
@@ -40,10 +73,11 @@ public class NotificationController {
     }
     
     @PutMapping("/mark-all-read")
-    public ResponseEntity<?> markAllAsRead() {
+    public ResponseEntity<?> markAllAsRead(@RequestParam(required = false) String upTo) {
         try {
-            notificationService.markAllAsRead();
-            return ResponseEntity.ok(new ApiResponse(true, "All notifications marked as read"));
+            int updated = notificationService.markAllAsRead(upTo);
+            return ResponseEntity.ok(new ApiResponse(true, "All notifications marked as read",
+                java.util.Map.of("updated", updated)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
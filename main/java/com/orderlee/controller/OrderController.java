@@ -2,14 +2,23 @@ package com.orderlee.controller;
 
 import com.orderlee.dto.request.OrderRequest;
 import com.orderlee.dto.response.ApiResponse;
+import com.orderlee.dto.response.CursorPage;
+import com.orderlee.dto.response.OrderImportResult;
+import com.orderlee.dto.response.OrderResponse;
 import com.orderlee.model.Order;
+import com.orderlee.service.OrderImportService;
 import com.orderlee.service.OrderService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -19,11 +28,33 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
     
+    @Autowired
+    private OrderImportService orderImportService;
+    
     @PostMapping
     public ResponseEntity<?> createOrder(@Valid @RequestBody OrderRequest orderRequest) {
         try {
             Order order = orderService.createOrder(orderRequest);
-            return ResponseEntity.ok(new ApiResponse(true, "Order created successfully", order));
+            return ResponseEntity.ok(new ApiResponse(true, "Order created successfully", OrderResponse.from(order)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+    
+    // The body is read as a stream straight off the request, so uploads of any size are never buffered
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importOrders(HttpServletRequest request) {
+        try {
+            MediaType contentType = MediaType.parseMediaType(request.getContentType());
+            Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+            Reader body = new InputStreamReader(request.getInputStream(), charset);
+            
+            OrderImportResult result = contentType.isCompatibleWith(MediaType.valueOf("text/csv"))
+                ? orderImportService.importCsv(body)
+                : orderImportService.importNdjson(body);
+            return ResponseEntity.ok(new ApiResponse(true, "Imported " + result.getOrdersImported() + " orders, " +
+                result.getOrdersFailed() + " failed", result));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -35,7 +66,7 @@ public class OrderController {
                                              @RequestParam Order.OrderStatus status) {
         try {
             Order order = orderService.updateOrderStatus(orderId, status);
-            return ResponseEntity.ok(new ApiResponse(true, "Order status updated successfully", order));
+            return ResponseEntity.ok(new ApiResponse(true, "Order status updated successfully", OrderResponse.from(order)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -47,7 +78,7 @@ public class OrderController {
                                                 @RequestParam Order.PaymentStatus status) {
         try {
             Order order = orderService.updatePaymentStatus(orderId, status);
-            return ResponseEntity.ok(new ApiResponse(true, "Payment status updated successfully", order));
+            return ResponseEntity.ok(new ApiResponse(true, "Payment status updated successfully", OrderResponse.from(order)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -55,9 +86,10 @@ public class OrderController {
     }
     
     @GetMapping
-    public ResponseEntity<?> getOrders() {
+    public ResponseEntity<?> getOrders(@RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false) Integer size) {
         try {
-            List<Order> orders = orderService.getOrdersByBusiness();
+            CursorPage<OrderResponse> orders = orderService.getOrdersByBusiness(cursor, size);
             return ResponseEntity.ok(new ApiResponse(true, "Orders retrieved successfully", orders));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -69,7 +101,7 @@ public class OrderController {
     public ResponseEntity<?> getOrder(@PathVariable Long orderId) {
         try {
             Order order = orderService.getOrderById(orderId);
-            return ResponseEntity.ok(new ApiResponse(true, "Order retrieved successfully", order));
+            return ResponseEntity.ok(new ApiResponse(true, "Order retrieved successfully", OrderResponse.from(order)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -80,7 +112,7 @@ public class OrderController {
     public ResponseEntity<?> getOrderByNumber(@PathVariable String orderNumber) {
         try {
             Order order = orderService.getOrderByNumber(orderNumber);
-            return ResponseEntity.ok(new ApiResponse(true, "Order retrieved successfully", order));
+            return ResponseEntity.ok(new ApiResponse(true, "Order retrieved successfully", OrderResponse.from(order)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -88,9 +120,11 @@ public class OrderController {
     }
     
     @GetMapping("/status/{status}")
-    public ResponseEntity<?> getOrdersByStatus(@PathVariable Order.OrderStatus status) {
+    public ResponseEntity<?> getOrdersByStatus(@PathVariable Order.OrderStatus status,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer size) {
         try {
-            List<Order> orders = orderService.getOrdersByStatus(status);
+            CursorPage<OrderResponse> orders = orderService.getOrdersByStatus(status, cursor, size);
             return ResponseEntity.ok(new ApiResponse(true, "Orders retrieved successfully", orders));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
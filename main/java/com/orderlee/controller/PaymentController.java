@@ -2,6 +2,8 @@ package com.orderlee.controller;
 
 import com.orderlee.dto.request.PaymentRequest;
 import com.orderlee.dto.response.ApiResponse;
+import com.orderlee.dto.response.CursorPage;
+import com.orderlee.dto.response.PaymentResponse;
 import com.orderlee.model.Payment;
 import com.orderlee.service.PaymentService;
 import jakarta.validation.Valid;
@@ -23,7 +25,7 @@ public class PaymentController {
     public ResponseEntity<?> processPayment(@Valid @RequestBody PaymentRequest paymentRequest) {
         try {
             Payment payment = paymentService.processPayment(paymentRequest);
-            return ResponseEntity.ok(new ApiResponse(true, "Payment processed successfully", payment));
+            return ResponseEntity.ok(new ApiResponse(true, "Payment processed successfully", PaymentResponse.from(payment)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -35,7 +37,7 @@ public class PaymentController {
                                                 @RequestParam Payment.PaymentStatus status) {
         try {
             Payment payment = paymentService.updatePaymentStatus(paymentId, status);
-            return ResponseEntity.ok(new ApiResponse(true, "Payment status updated successfully", payment));
+            return ResponseEntity.ok(new ApiResponse(true, "Payment status updated successfully", PaymentResponse.from(payment)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -43,9 +45,10 @@ public class PaymentController {
     }
     
     @GetMapping
-    public ResponseEntity<?> getPayments() {
+    public ResponseEntity<?> getPayments(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size) {
         try {
-            List<Payment> payments = paymentService.getPaymentsByBusiness();
+            CursorPage<PaymentResponse> payments = paymentService.getPaymentsByBusiness(cursor, size);
             return ResponseEntity.ok(new ApiResponse(true, "Payments retrieved successfully", payments));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -57,7 +60,7 @@ public class PaymentController {
     public ResponseEntity<?> getPayment(@PathVariable Long paymentId) {
         try {
             Payment payment = paymentService.getPaymentById(paymentId);
-            return ResponseEntity.ok(new ApiResponse(true, "Payment retrieved successfully", payment));
+            return ResponseEntity.ok(new ApiResponse(true, "Payment retrieved successfully", PaymentResponse.from(payment)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -67,7 +70,7 @@ public class PaymentController {
     @GetMapping("/order/{orderId}")
     public ResponseEntity<?> getPaymentsByOrder(@PathVariable Long orderId) {
         try {
-            List<Payment> payments = paymentService.getPaymentsByOrder(orderId);
+            List<PaymentResponse> payments = paymentService.getPaymentsByOrder(orderId);
             return ResponseEntity.ok(new ApiResponse(true, "Payments retrieved successfully", payments));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
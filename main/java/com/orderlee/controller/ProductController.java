@@ -2,6 +2,9 @@ package com.orderlee.controller;
 
 import com.orderlee.dto.request.ProductRequest;
 import com.orderlee.dto.response.ApiResponse;
+import com.orderlee.dto.response.CursorPage;
+import com.orderlee.dto.response.ProductResponse;
+import com.orderlee.dto.response.SearchResults;
 import com.orderlee.model.Product;
 import com.orderlee.service.ProductService;
 import jakarta.validation.Valid;
@@ -10,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/products")
@@ -23,7 +27,7 @@ public class ProductController {
     public ResponseEntity<?> createProduct(@Valid @RequestBody ProductRequest productRequest) {
         try {
             Product product = productService.createProduct(productRequest);
-            return ResponseEntity.ok(new ApiResponse(true, "Product created successfully", product));
+            return ResponseEntity.ok(new ApiResponse(true, "Product created successfully", ProductResponse.from(product)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -35,7 +39,7 @@ public class ProductController {
                                          @Valid @RequestBody ProductRequest productRequest) {
         try {
             Product product = productService.updateProduct(productId, productRequest);
-            return ResponseEntity.ok(new ApiResponse(true, "Product updated successfully", product));
+            return ResponseEntity.ok(new ApiResponse(true, "Product updated successfully", ProductResponse.from(product)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -43,9 +47,11 @@ public class ProductController {
     }
     
     @GetMapping
-    public ResponseEntity<?> getProducts() {
+    public ResponseEntity<?> getProducts(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size) {
         try {
-            List<Product> products = productService.getProductsByBusiness();
+            CursorPage<ProductResponse> products = productService.getProductsByBusiness(cursor, size)
+                .map(ProductResponse::from);
             return ResponseEntity.ok(new ApiResponse(true, "Products retrieved successfully", products));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -57,7 +63,7 @@ public class ProductController {
     public ResponseEntity<?> getProduct(@PathVariable Long productId) {
         try {
             Product product = productService.getProductById(productId);
-            return ResponseEntity.ok(new ApiResponse(true, "Product retrieved successfully", product));
+            return ResponseEntity.ok(new ApiResponse(true, "Product retrieved successfully", ProductResponse.from(product)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -67,7 +73,9 @@ public class ProductController {
     @GetMapping("/low-stock")
     public ResponseEntity<?> getLowStockProducts() {
         try {
-            List<Product> products = productService.getLowStockProducts();
+            List<ProductResponse> products = productService.getLowStockProducts().stream()
+                .map(ProductResponse::from)
+                .collect(Collectors.toList());
             return ResponseEntity.ok(new ApiResponse(true, "Low stock products retrieved successfully", products));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -78,7 +86,7 @@ public class ProductController {
     @GetMapping("/search")
     public ResponseEntity<?> searchProducts(@RequestParam String query) {
         try {
-            List<Product> products = productService.searchProducts(query);
+            SearchResults<ProductResponse> products = productService.searchProducts(query).map(ProductResponse::from);
             return ResponseEntity.ok(new ApiResponse(true, "Products search completed", products));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -2,14 +2,17 @@ package com.orderlee.controller;
 
 import com.orderlee.dto.request.ShipmentRequest;
 import com.orderlee.dto.response.ApiResponse;
+import com.orderlee.dto.response.CursorPage;
+import com.orderlee.dto.response.ShipmentResponse;
 import com.orderlee.model.Shipment;
 import com.orderlee.service.ShipmentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.ZoneOffset;
 
 @RestController
 @RequestMapping("/api/shipments")
@@ -23,7 +26,7 @@ public class ShipmentController {
     public ResponseEntity<?> createShipment(@Valid @RequestBody ShipmentRequest shipmentRequest) {
         try {
             Shipment shipment = shipmentService.createShipment(shipmentRequest);
-            return ResponseEntity.ok(new ApiResponse(true, "Shipment created successfully", shipment));
+            return ResponseEntity.ok(new ApiResponse(true, "Shipment created successfully", ShipmentResponse.from(shipment)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -35,7 +38,7 @@ public class ShipmentController {
                                                  @RequestParam Shipment.ShipmentStatus status) {
         try {
             Shipment shipment = shipmentService.updateShipmentStatus(shipmentId, status);
-            return ResponseEntity.ok(new ApiResponse(true, "Shipment status updated successfully", shipment));
+            return ResponseEntity.ok(new ApiResponse(true, "Shipment status updated successfully", ShipmentResponse.from(shipment)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -43,9 +46,10 @@ public class ShipmentController {
     }
     
     @GetMapping
-    public ResponseEntity<?> getShipments() {
+    public ResponseEntity<?> getShipments(@RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer size) {
         try {
-            List<Shipment> shipments = shipmentService.getShipmentsByBusiness();
+            CursorPage<ShipmentResponse> shipments = shipmentService.getShipmentsByBusiness(cursor, size);
             return ResponseEntity.ok(new ApiResponse(true, "Shipments retrieved successfully", shipments));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -57,7 +61,7 @@ public class ShipmentController {
     public ResponseEntity<?> getShipment(@PathVariable Long shipmentId) {
         try {
             Shipment shipment = shipmentService.getShipmentById(shipmentId);
-            return ResponseEntity.ok(new ApiResponse(true, "Shipment retrieved successfully", shipment));
+            return ResponseEntity.ok(new ApiResponse(true, "Shipment retrieved successfully", ShipmentResponse.from(shipment)));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -67,8 +71,12 @@ public class ShipmentController {
     @GetMapping("/tracking/{trackingNumber}")
     public ResponseEntity<?> getShipmentByTrackingNumber(@PathVariable String trackingNumber) {
         try {
-            Shipment shipment = shipmentService.getShipmentByTrackingNumber(trackingNumber);
-            return ResponseEntity.ok(new ApiResponse(true, "Shipment retrieved successfully", shipment));
+            ShipmentResponse shipment = shipmentService.getShipmentByTrackingNumber(trackingNumber);
+            // Spring answers 304 Not Modified when If-None-Match matches this ETag
+            return ResponseEntity.ok()
+                .eTag(trackingETag(shipment))
+                .cacheControl(CacheControl.noCache())
+                .body(new ApiResponse(true, "Shipment retrieved successfully", shipment));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
@@ -76,13 +84,21 @@ public class ShipmentController {
     }
     
     @GetMapping("/status/{status}")
-    public ResponseEntity<?> getShipmentsByStatus(@PathVariable Shipment.ShipmentStatus status) {
+    public ResponseEntity<?> getShipmentsByStatus(@PathVariable Shipment.ShipmentStatus status,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer size) {
         try {
-            List<Shipment> shipments = shipmentService.getShipmentsByStatus(status);
+            CursorPage<ShipmentResponse> shipments = shipmentService.getShipmentsByStatus(status, cursor, size);
             return ResponseEntity.ok(new ApiResponse(true, "Shipments retrieved successfully", shipments));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage()));
         }
     }
+    
+    private static String trackingETag(ShipmentResponse shipment) {
+        long version = shipment.getUpdatedAt() == null ? 0
+            : shipment.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        return shipment.getId() + "-" + Long.toString(version, 36);
+    }
 }
\ No newline at end of file
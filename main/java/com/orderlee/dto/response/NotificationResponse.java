@@ -0,0 +1,74 @@
+package com.orderlee.dto.response;
+
+import com.orderlee.model.Notification;
+import com.orderlee.util.PageCursor;
+
+import java.time.LocalDateTime;
+
+public class NotificationResponse {
+    private Long id;
+    private String type;
+    private String title;
+    private String message;
+    private Boolean isRead;
+    private Boolean actionRequired;
+    private Integer occurrenceCount;
+    private LocalDateTime createdAt;
+    
+    public NotificationResponse(Long id, String type, String title, String message, Boolean isRead,
+                                Boolean actionRequired, Integer occurrenceCount, LocalDateTime createdAt) {
+        this.id = id;
+        this.type = type;
+        this.title = title;
+        this.message = message;
+        this.isRead = isRead;
+        this.actionRequired = actionRequired;
+        this.occurrenceCount = occurrenceCount;
+        this.createdAt = createdAt;
+    }
+    
+    public static NotificationResponse from(Notification notification) {
+        return new NotificationResponse(notification.getId(), notification.getType(), notification.getTitle(),
+                                        notification.getMessage(), notification.getIsRead(),
+                                        notification.getActionRequired(), notification.getOccurrenceCount(),
+                                        notification.getCreatedAt());
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public Boolean getIsRead() {
+        return isRead;
+    }
+    
+    public Boolean getActionRequired() {
+        return actionRequired;
+    }
+    
+    public Integer getOccurrenceCount() {
+        return occurrenceCount;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    // Passed back to mark-all-read to acknowledge everything up to and including this notification
+    public String getCursor() {
+        return new PageCursor(createdAt, id).encode();
+    }
+}
\ No newline at end of file
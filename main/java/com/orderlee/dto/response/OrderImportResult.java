@@ -0,0 +1,115 @@
+package com.orderlee.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderImportResult {
+    private long rowsRead;
+    private long ordersImported;
+    private long itemsImported;
+    private long ordersFailed;
+    private int chunks;
+    private long durationMs;
+    private double ordersPerSecond;
+    private List<RowError> errors = new ArrayList<>();
+    private Boolean errorsTruncated = false;
+    
+    public OrderImportResult() {}
+    
+    // Getters and Setters
+    public long getRowsRead() {
+        return rowsRead;
+    }
+    
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+    
+    public long getOrdersImported() {
+        return ordersImported;
+    }
+    
+    public void setOrdersImported(long ordersImported) {
+        this.ordersImported = ordersImported;
+    }
+    
+    public long getItemsImported() {
+        return itemsImported;
+    }
+    
+    public void setItemsImported(long itemsImported) {
+        this.itemsImported = itemsImported;
+    }
+    
+    public long getOrdersFailed() {
+        return ordersFailed;
+    }
+    
+    public void setOrdersFailed(long ordersFailed) {
+        this.ordersFailed = ordersFailed;
+    }
+    
+    public int getChunks() {
+        return chunks;
+    }
+    
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+    
+    public long getDurationMs() {
+        return durationMs;
+    }
+    
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+    
+    public double getOrdersPerSecond() {
+        return ordersPerSecond;
+    }
+    
+    public void setOrdersPerSecond(double ordersPerSecond) {
+        this.ordersPerSecond = ordersPerSecond;
+    }
+    
+    public List<RowError> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+    
+    public Boolean getErrorsTruncated() {
+        return errorsTruncated;
+    }
+    
+    public void setErrorsTruncated(Boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+    
+    public static class RowError {
+        private long row;
+        private String field;
+        private String message;
+        
+        public RowError(long row, String field, String message) {
+            this.row = row;
+            this.field = field;
+            this.message = message;
+        }
+        
+        public long getRow() {
+            return row;
+        }
+        
+        public String getField() {
+            return field;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+    }
+}
\ No newline at end of file
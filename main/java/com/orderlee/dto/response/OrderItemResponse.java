@@ -0,0 +1,68 @@
+package com.orderlee.dto.response;
+
+import com.orderlee.model.OrderItem;
+import com.orderlee.model.Product;
+
+import java.math.BigDecimal;
+
+public class OrderItemResponse {
+    private Long id;
+    private Long orderId;
+    private Long productId;
+    private String productName;
+    private String productSku;
+    private Integer quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal totalPrice;
+    
+    public OrderItemResponse(Long id, Long orderId, Long productId, String productName, String productSku,
+                             Integer quantity, BigDecimal unitPrice, BigDecimal totalPrice) {
+        this.id = id;
+        this.orderId = orderId;
+        this.productId = productId;
+        this.productName = productName;
+        this.productSku = productSku;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.totalPrice = totalPrice;
+    }
+    
+    public static OrderItemResponse from(OrderItem item) {
+        Product product = item.getProduct();
+        return new OrderItemResponse(item.getId(), item.getOrder().getId(), product.getId(), product.getName(),
+                                     product.getSku(), item.getQuantity(), item.getUnitPrice(), item.getTotalPrice());
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public String getProductName() {
+        return productName;
+    }
+    
+    public String getProductSku() {
+        return productSku;
+    }
+    
+    public Integer getQuantity() {
+        return quantity;
+    }
+    
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+    
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.orderlee.dto.response;
+
+import com.orderlee.model.Order;
+import com.orderlee.model.OrderItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderResponse {
+    private Long id;
+    private String orderNumber;
+    private String customerName;
+    private String customerEmail;
+    private String customerPhone;
+    private String shippingAddress;
+    private String orderSource;
+    private String notes;
+    private Order.PaymentStatus paymentStatus;
+    private Order.OrderStatus orderStatus;
+    private BigDecimal subtotal;
+    private BigDecimal taxAmount;
+    private BigDecimal totalAmount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<OrderItemResponse> orderItems = new ArrayList<>();
+    
+    public OrderResponse(Long id, String orderNumber, String customerName, String customerEmail,
+                         String customerPhone, String shippingAddress, String orderSource, String notes,
+                         Order.PaymentStatus paymentStatus, Order.OrderStatus orderStatus,
+                         BigDecimal subtotal, BigDecimal taxAmount, BigDecimal totalAmount,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.orderNumber = orderNumber;
+        this.customerName = customerName;
+        this.customerEmail = customerEmail;
+        this.customerPhone = customerPhone;
+        this.shippingAddress = shippingAddress;
+        this.orderSource = orderSource;
+        this.notes = notes;
+        this.paymentStatus = paymentStatus;
+        this.orderStatus = orderStatus;
+        this.subtotal = subtotal;
+        this.taxAmount = taxAmount;
+        this.totalAmount = totalAmount;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    public static OrderResponse from(Order order) {
+        OrderResponse response = new OrderResponse(order.getId(), order.getOrderNumber(), order.getCustomerName(),
+                                                   order.getCustomerEmail(), order.getCustomerPhone(),
+                                                   order.getShippingAddress(), order.getOrderSource(), order.getNotes(),
+                                                   order.getPaymentStatus(), order.getOrderStatus(), order.getSubtotal(),
+                                                   order.getTaxAmount(), order.getTotalAmount(), order.getCreatedAt(),
+                                                   order.getUpdatedAt());
+        List<OrderItemResponse> items = new ArrayList<>();
+        for (OrderItem item : order.getOrderItems()) {
+            items.add(OrderItemResponse.from(item));
+        }
+        response.setOrderItems(items);
+        return response;
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+    
+    public String getCustomerName() {
+        return customerName;
+    }
+    
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+    
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+    
+    public String getShippingAddress() {
+        return shippingAddress;
+    }
+    
+    public String getOrderSource() {
+        return orderSource;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public Order.PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+    
+    public Order.OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+    
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+    
+    public BigDecimal getTaxAmount() {
+        return taxAmount;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public List<OrderItemResponse> getOrderItems() {
+        return orderItems;
+    }
+    
+    public void setOrderItems(List<OrderItemResponse> orderItems) {
+        this.orderItems = orderItems;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.orderlee.dto.response;
+
+import com.orderlee.model.Order;
+import com.orderlee.model.Payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class PaymentResponse {
+    private Long id;
+    private String paymentId;
+    private Long orderId;
+    private String orderNumber;
+    private BigDecimal amount;
+    private Payment.PaymentMethod paymentMethod;
+    private Payment.PaymentStatus paymentStatus;
+    private String transactionReference;
+    private BigDecimal processingFee;
+    private String notes;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    public PaymentResponse(Long id, String paymentId, Long orderId, String orderNumber, BigDecimal amount,
+                           Payment.PaymentMethod paymentMethod, Payment.PaymentStatus paymentStatus,
+                           String transactionReference, BigDecimal processingFee, String notes,
+                           LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.paymentId = paymentId;
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.amount = amount;
+        this.paymentMethod = paymentMethod;
+        this.paymentStatus = paymentStatus;
+        this.transactionReference = transactionReference;
+        this.processingFee = processingFee;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    public static PaymentResponse from(Payment payment) {
+        Order order = payment.getOrder();
+        return new PaymentResponse(payment.getId(), payment.getPaymentId(), order.getId(), order.getOrderNumber(),
+                                   payment.getAmount(), payment.getPaymentMethod(), payment.getPaymentStatus(),
+                                   payment.getTransactionReference(), payment.getProcessingFee(), payment.getNotes(),
+                                   payment.getCreatedAt(), payment.getUpdatedAt());
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public String getPaymentId() {
+        return paymentId;
+    }
+    
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public Payment.PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+    
+    public Payment.PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+    
+    public String getTransactionReference() {
+        return transactionReference;
+    }
+    
+    public BigDecimal getProcessingFee() {
+        return processingFee;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
\ No newline at end of file
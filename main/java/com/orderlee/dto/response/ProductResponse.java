@@ -0,0 +1,148 @@
+package com.orderlee.dto.response;
+
+import com.orderlee.model.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class ProductResponse {
+    private Long id;
+    private String name;
+    private String description;
+    private String category;
+    private String sku;
+    private BigDecimal costPrice;
+    private BigDecimal sellingPrice;
+    private Integer stockQuantity;
+    private Integer reorderLevel;
+    private String supplier;
+    private String storageLocation;
+    private String notes;
+    private String imageUrl;
+    private Boolean isFragile;
+    private BigDecimal weightKg;
+    private BigDecimal lengthCm;
+    private BigDecimal widthCm;
+    private BigDecimal heightCm;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    public ProductResponse(Long id, String name, String description, String category, String sku,
+                           BigDecimal costPrice, BigDecimal sellingPrice, Integer stockQuantity,
+                           Integer reorderLevel, String supplier, String storageLocation, String notes,
+                           String imageUrl, Boolean isFragile, BigDecimal weightKg, BigDecimal lengthCm,
+                           BigDecimal widthCm, BigDecimal heightCm, LocalDateTime createdAt,
+                           LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.category = category;
+        this.sku = sku;
+        this.costPrice = costPrice;
+        this.sellingPrice = sellingPrice;
+        this.stockQuantity = stockQuantity;
+        this.reorderLevel = reorderLevel;
+        this.supplier = supplier;
+        this.storageLocation = storageLocation;
+        this.notes = notes;
+        this.imageUrl = imageUrl;
+        this.isFragile = isFragile;
+        this.weightKg = weightKg;
+        this.lengthCm = lengthCm;
+        this.widthCm = widthCm;
+        this.heightCm = heightCm;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    public static ProductResponse from(Product product) {
+        return new ProductResponse(product.getId(), product.getName(), product.getDescription(), product.getCategory(),
+                                   product.getSku(), product.getCostPrice(), product.getSellingPrice(),
+                                   product.getStockQuantity(), product.getReorderLevel(), product.getSupplier(),
+                                   product.getStorageLocation(), product.getNotes(), product.getImageUrl(),
+                                   product.getIsFragile(), product.getWeightKg(), product.getLengthCm(),
+                                   product.getWidthCm(), product.getHeightCm(), product.getCreatedAt(),
+                                   product.getUpdatedAt());
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public String getSku() {
+        return sku;
+    }
+    
+    public BigDecimal getCostPrice() {
+        return costPrice;
+    }
+    
+    public BigDecimal getSellingPrice() {
+        return sellingPrice;
+    }
+    
+    public Integer getStockQuantity() {
+        return stockQuantity;
+    }
+    
+    public Integer getReorderLevel() {
+        return reorderLevel;
+    }
+    
+    public String getSupplier() {
+        return supplier;
+    }
+    
+    public String getStorageLocation() {
+        return storageLocation;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public String getImageUrl() {
+        return imageUrl;
+    }
+    
+    public Boolean getIsFragile() {
+        return isFragile;
+    }
+    
+    public BigDecimal getWeightKg() {
+        return weightKg;
+    }
+    
+    public BigDecimal getLengthCm() {
+        return lengthCm;
+    }
+    
+    public BigDecimal getWidthCm() {
+        return widthCm;
+    }
+    
+    public BigDecimal getHeightCm() {
+        return heightCm;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.orderlee.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// Ranked matches capped at limit; truncated says more matched than were returned
+public class SearchResults<T> {
+    private List<T> items;
+    private Boolean truncated;
+    private Integer limit;
+    
+    public SearchResults(List<T> items, Boolean truncated, Integer limit) {
+        this.items = items;
+        this.truncated = truncated;
+        this.limit = limit;
+    }
+    
+    public <R> SearchResults<R> map(Function<T, R> mapper) {
+        List<R> mapped = new ArrayList<>(items.size());
+        for (T item : items) {
+            mapped.add(mapper.apply(item));
+        }
+        return new SearchResults<>(mapped, truncated, limit);
+    }
+    
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+    
+    public Boolean getTruncated() {
+        return truncated;
+    }
+    
+    public void setTruncated(Boolean truncated) {
+        this.truncated = truncated;
+    }
+    
+    public Integer getLimit() {
+        return limit;
+    }
+    
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+}
\ No newline at end of file
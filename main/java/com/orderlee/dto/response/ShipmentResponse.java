@@ -0,0 +1,159 @@
+package com.orderlee.dto.response;
+
+import com.orderlee.model.Order;
+import com.orderlee.model.Shipment;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class ShipmentResponse {
+    private Long id;
+    private String trackingNumber;
+    private String carrierName;
+    private Shipment.ShipmentStatus shipmentStatus;
+    private LocalDateTime estimatedDelivery;
+    private LocalDateTime actualDelivery;
+    private BigDecimal shippingCost;
+    private String senderName;
+    private String senderAddress;
+    private String senderPhone;
+    private String receiverName;
+    private String receiverAddress;
+    private String receiverPhone;
+    private BigDecimal packageWeight;
+    private BigDecimal packageValue;
+    private String packageDescription;
+    private Boolean isFragile;
+    private Long orderId;
+    private String orderNumber;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    public ShipmentResponse(Long id, String trackingNumber, String carrierName,
+                            Shipment.ShipmentStatus shipmentStatus, LocalDateTime estimatedDelivery,
+                            LocalDateTime actualDelivery, BigDecimal shippingCost, String senderName,
+                            String senderAddress, String senderPhone, String receiverName,
+                            String receiverAddress, String receiverPhone, BigDecimal packageWeight,
+                            BigDecimal packageValue, String packageDescription, Boolean isFragile,
+                            Long orderId, String orderNumber, LocalDateTime createdAt,
+                            LocalDateTime updatedAt) {
+        this.id = id;
+        this.trackingNumber = trackingNumber;
+        this.carrierName = carrierName;
+        this.shipmentStatus = shipmentStatus;
+        this.estimatedDelivery = estimatedDelivery;
+        this.actualDelivery = actualDelivery;
+        this.shippingCost = shippingCost;
+        this.senderName = senderName;
+        this.senderAddress = senderAddress;
+        this.senderPhone = senderPhone;
+        this.receiverName = receiverName;
+        this.receiverAddress = receiverAddress;
+        this.receiverPhone = receiverPhone;
+        this.packageWeight = packageWeight;
+        this.packageValue = packageValue;
+        this.packageDescription = packageDescription;
+        this.isFragile = isFragile;
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    public static ShipmentResponse from(Shipment shipment) {
+        Order order = shipment.getOrder();
+        return new ShipmentResponse(shipment.getId(), shipment.getTrackingNumber(), shipment.getCarrierName(),
+                                    shipment.getShipmentStatus(), shipment.getEstimatedDelivery(),
+                                    shipment.getActualDelivery(), shipment.getShippingCost(), shipment.getSenderName(),
+                                    shipment.getSenderAddress(), shipment.getSenderPhone(), shipment.getReceiverName(),
+                                    shipment.getReceiverAddress(), shipment.getReceiverPhone(),
+                                    shipment.getPackageWeight(), shipment.getPackageValue(),
+                                    shipment.getPackageDescription(), shipment.getIsFragile(), order.getId(),
+                                    order.getOrderNumber(), shipment.getCreatedAt(), shipment.getUpdatedAt());
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public String getTrackingNumber() {
+        return trackingNumber;
+    }
+    
+    public String getCarrierName() {
+        return carrierName;
+    }
+    
+    public Shipment.ShipmentStatus getShipmentStatus() {
+        return shipmentStatus;
+    }
+    
+    public LocalDateTime getEstimatedDelivery() {
+        return estimatedDelivery;
+    }
+    
+    public LocalDateTime getActualDelivery() {
+        return actualDelivery;
+    }
+    
+    public BigDecimal getShippingCost() {
+        return shippingCost;
+    }
+    
+    public String getSenderName() {
+        return senderName;
+    }
+    
+    public String getSenderAddress() {
+        return senderAddress;
+    }
+    
+    public String getSenderPhone() {
+        return senderPhone;
+    }
+    
+    public String getReceiverName() {
+        return receiverName;
+    }
+    
+    public String getReceiverAddress() {
+        return receiverAddress;
+    }
+    
+    public String getReceiverPhone() {
+        return receiverPhone;
+    }
+    
+    public BigDecimal getPackageWeight() {
+        return packageWeight;
+    }
+    
+    public BigDecimal getPackageValue() {
+        return packageValue;
+    }
+    
+    public String getPackageDescription() {
+        return packageDescription;
+    }
+    
+    public Boolean getIsFragile() {
+        return isFragile;
+    }
+    
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
\ No newline at end of file
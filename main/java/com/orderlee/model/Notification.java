@@ -6,7 +6,11 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_business_created", columnList = "business_id, created_at, id"),
+    @Index(name = "idx_notifications_business_type_read", columnList = "business_id, type, is_read, created_at"),
+    @Index(name = "idx_notifications_read_created", columnList = "is_read, created_at")
+})
 public class Notification extends BaseEntity {
     
     @NotBlank
@@ -28,6 +32,10 @@ public class Notification extends BaseEntity {
     @Column(name = "action_required")
     private Boolean actionRequired = false;
     
+    // Repeats of an unread notification of the same type are folded into it instead of adding rows
+    @Column(name = "occurrence_count")
+    private Integer occurrenceCount = 1;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "business_id")
     private Business business;
@@ -83,6 +91,14 @@ public class Notification extends BaseEntity {
         this.actionRequired = actionRequired;
     }
     
+    public Integer getOccurrenceCount() {
+        return occurrenceCount;
+    }
+    
+    public void setOccurrenceCount(Integer occurrenceCount) {
+        this.occurrenceCount = occurrenceCount;
+    }
+    
     public Business getBusiness() {
         return business;
     }
@@ -0,0 +1,103 @@
+package com.orderlee.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Read notifications past the retention window; createdAt is the archive time
+@Entity
+@Table(name = "notifications_archive", indexes = {
+    @Index(name = "idx_notifications_archive_business_created", columnList = "business_id, notification_created_at")
+})
+public class NotificationArchive extends BaseEntity {
+    
+    @Column(name = "notification_id")
+    private Long notificationId;
+    
+    @Column(name = "business_id")
+    private Long businessId;
+    
+    private String type;
+    
+    private String title;
+    
+    @Column(columnDefinition = "TEXT")
+    private String message;
+    
+    @Column(name = "action_required")
+    private Boolean actionRequired;
+    
+    @Column(name = "occurrence_count")
+    private Integer occurrenceCount;
+    
+    @Column(name = "notification_created_at")
+    private LocalDateTime notificationCreatedAt;
+    
+    // Constructors
+    public NotificationArchive() {}
+    
+    // Getters and Setters
+    public Long getNotificationId() {
+        return notificationId;
+    }
+    
+    public void setNotificationId(Long notificationId) {
+        this.notificationId = notificationId;
+    }
+    
+    public Long getBusinessId() {
+        return businessId;
+    }
+    
+    public void setBusinessId(Long businessId) {
+        this.businessId = businessId;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public Boolean getActionRequired() {
+        return actionRequired;
+    }
+    
+    public void setActionRequired(Boolean actionRequired) {
+        this.actionRequired = actionRequired;
+    }
+    
+    public Integer getOccurrenceCount() {
+        return occurrenceCount;
+    }
+    
+    public void setOccurrenceCount(Integer occurrenceCount) {
+        this.occurrenceCount = occurrenceCount;
+    }
+    
+    public LocalDateTime getNotificationCreatedAt() {
+        return notificationCreatedAt;
+    }
+    
+    public void setNotificationCreatedAt(LocalDateTime notificationCreatedAt) {
+        this.notificationCreatedAt = notificationCreatedAt;
+    }
+}
\ No newline at end of file
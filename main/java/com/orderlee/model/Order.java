@@ -10,7 +10,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_business_created", columnList = "business_id, created_at, id"),
+    @Index(name = "idx_orders_business_status", columnList = "business_id, order_status, created_at, id")
+})
 public class Order extends BaseEntity {
     
     @NotBlank
@@ -63,6 +66,16 @@ public class Order extends BaseEntity {
     @Column(name = "total_amount", precision = 10, scale = 2)
     private BigDecimal totalAmount;
     
+    // Running payment aggregates, maintained by PaymentServiceImpl under the order row lock
+    @Column(name = "payments_count")
+    private Integer paymentsCount = 0;
+    
+    @Column(name = "completed_payments_count")
+    private Integer completedPaymentsCount = 0;
+    
+    @Column(name = "amount_paid", precision = 10, scale = 2)
+    private BigDecimal amountPaid = BigDecimal.ZERO;
+    
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrderItem> orderItems = new ArrayList<>();
     
@@ -173,6 +186,30 @@ public class Order extends BaseEntity {
         this.totalAmount = totalAmount;
     }
     
+    public Integer getPaymentsCount() {
+        return paymentsCount;
+    }
+    
+    public void setPaymentsCount(Integer paymentsCount) {
+        this.paymentsCount = paymentsCount;
+    }
+    
+    public Integer getCompletedPaymentsCount() {
+        return completedPaymentsCount;
+    }
+    
+    public void setCompletedPaymentsCount(Integer completedPaymentsCount) {
+        this.completedPaymentsCount = completedPaymentsCount;
+    }
+    
+    public BigDecimal getAmountPaid() {
+        return amountPaid;
+    }
+    
+    public void setAmountPaid(BigDecimal amountPaid) {
+        this.amountPaid = amountPaid;
+    }
+    
     public List<OrderItem> getOrderItems() {
         return orderItems;
     }
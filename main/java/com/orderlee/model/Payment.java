@@ -9,7 +9,10 @@ import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+    @Index(name = "idx_payments_created", columnList = "created_at, id"),
+    @Index(name = "idx_payments_business_created", columnList = "business_id, created_at, id")
+})
 public class Payment extends BaseEntity {
     
     @NotBlank
@@ -46,6 +49,11 @@ public class Payment extends BaseEntity {
     @JoinColumn(name = "order_id")
     private Order order;
     
+    // Copied from the order so tenant listings can use an index instead of joining through orders
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "business_id")
+    private Business business;
+    
     // Constructors
     public Payment() {}
     
@@ -114,6 +122,14 @@ public class Payment extends BaseEntity {
         this.order = order;
     }
     
+    public Business getBusiness() {
+        return business;
+    }
+    
+    public void setBusiness(Business business) {
+        this.business = business;
+    }
+    
     public enum PaymentMethod {
         CREDIT_CARD, DEBIT_CARD, BANK_TRANSFER, MOBILE_MONEY, CASH
     }
@@ -0,0 +1,55 @@
+package com.orderlee.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * Pooled id generator backed by one sequence per table, named {@code <table>_seq}. Each database
+ * round trip reserves a block of {@code orderlee.id.allocation_size} ids, and unlike IDENTITY the
+ * id is known before the INSERT, so Hibernate can batch inserts. On databases without sequences,
+ * such as MySQL, Hibernate backs the sequence with a single-row table.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    
+    public static final String ALLOCATION_SIZE_SETTING = "orderlee.id.allocation_size";
+    
+    private static final int DEFAULT_ALLOCATION_SIZE = 50;
+    
+    public PooledSequenceGenerator(PooledSequence config, Member member, CustomIdGeneratorCreationContext context) {
+        PersistentClass entity = context.getPersistentClass();
+        Properties parameters = new Properties();
+        parameters.setProperty(PersistentIdentifierGenerator.TABLE, entity.getTable().getName());
+        parameters.setProperty(IdentifierGenerator.ENTITY_NAME, entity.getEntityName());
+        parameters.setProperty(IdentifierGenerator.JPA_ENTITY_NAME, entity.getJpaEntityName());
+        if (context.getDefaultCatalog() != null) {
+            parameters.setProperty(PersistentIdentifierGenerator.CATALOG, context.getDefaultCatalog());
+        }
+        if (context.getDefaultSchema() != null) {
+            parameters.setProperty(PersistentIdentifierGenerator.SCHEMA, context.getDefaultSchema());
+        }
+        configure(context.getProperty().getType(), parameters, context.getServiceRegistry());
+    }
+    
+    // Also applied if Hibernate configures the generator again with its own parameters
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        Object allocationSize = serviceRegistry.getService(ConfigurationService.class)
+            .getSettings().get(ALLOCATION_SIZE_SETTING);
+        parameters.putIfAbsent(SEQUENCE_PARAM, parameters.getProperty(PersistentIdentifierGenerator.TABLE) + "_seq");
+        parameters.setProperty(INCREMENT_PARAM, allocationSize != null ? allocationSize.toString()
+            : String.valueOf(DEFAULT_ALLOCATION_SIZE));
+        parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
\ No newline at end of file
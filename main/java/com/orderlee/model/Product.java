@@ -9,7 +9,9 @@ import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    @Index(name = "idx_products_business_created", columnList = "business_id, created_at, id")
+})
 public class Product extends BaseEntity {
     
     @NotBlank
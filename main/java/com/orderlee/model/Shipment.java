@@ -9,7 +9,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "shipments")
+@Table(name = "shipments", indexes = {
+    @Index(name = "idx_shipments_created", columnList = "created_at, id"),
+    @Index(name = "idx_shipments_business_created", columnList = "business_id, created_at, id"),
+    @Index(name = "idx_shipments_business_status", columnList = "business_id, shipment_status, created_at, id")
+})
 public class Shipment extends BaseEntity {
     
     @NotBlank
@@ -70,6 +74,11 @@ public class Shipment extends BaseEntity {
     @JoinColumn(name = "order_id")
     private Order order;
     
+    // Copied from the order so tenant listings can use an index instead of joining through orders
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "business_id")
+    private Business business;
+    
     // Constructors
     public Shipment() {}
     
@@ -210,6 +219,14 @@ public class Shipment extends BaseEntity {
         this.order = order;
     }
     
+    public Business getBusiness() {
+        return business;
+    }
+    
+    public void setBusiness(Business business) {
+        this.business = business;
+    }
+    
     public enum ShipmentStatus {
         PREPARING, IN_TRANSIT, DELIVERED, DELAYED, CANCELLED
     }
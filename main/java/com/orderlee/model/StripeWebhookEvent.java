@@ -0,0 +1,127 @@
+package com.orderlee.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stripe_webhook_events", indexes = {
+    @Index(name = "idx_stripe_webhook_events_status_next_attempt", columnList = "status, next_attempt_at, id")
+})
+public class StripeWebhookEvent extends BaseEntity {
+    
+    // Stripe's own event id; the unique constraint is what makes redelivered events no-ops
+    @NotBlank
+    @Size(max = 255)
+    @Column(name = "event_id", unique = true)
+    private String eventId;
+    
+    @NotBlank
+    @Size(max = 100)
+    @Column(name = "event_type")
+    private String eventType;
+    
+    @NotBlank
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+    
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private EventStatus status = EventStatus.PENDING;
+    
+    @NotNull
+    private Integer attempts = 0;
+    
+    @NotNull
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+    
+    @Size(max = 500)
+    @Column(name = "last_error")
+    private String lastError;
+    
+    // Constructors
+    public StripeWebhookEvent() {}
+    
+    public StripeWebhookEvent(String eventId, String eventType, String payload) {
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public String getEventId() {
+        return eventId;
+    }
+    
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public EventStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(EventStatus status) {
+        this.status = status;
+    }
+    
+    public Integer getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+    
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+    
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+    
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public enum EventStatus {
+        PENDING, PROCESSED, FAILED
+    }
+}
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.orderlee.repository;
 
 import com.orderlee.model.Business;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,6 +11,10 @@ import java.util.Optional;
 @Repository
 public interface BusinessRepository extends JpaRepository<Business, Long> {
     Optional<Business> findByUserId(Long userId);
+    
+    @Query("SELECT b.id FROM Business b WHERE b.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+    
     boolean existsByBusinessName(String businessName);
     boolean existsByRegistrationNumber(String registrationNumber);
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.orderlee.repository;
+
+import com.orderlee.model.EmailOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    
+    // Lock timeout -2 is SKIP LOCKED, so concurrent workers claim disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EmailOutbox e WHERE e.status = com.orderlee.model.EmailOutbox.EmailStatus.PENDING " +
+           "AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt, e.id")
+    List<EmailOutbox> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    @Query("SELECT COUNT(e) FROM EmailOutbox e WHERE e.status IN " +
+           "(com.orderlee.model.EmailOutbox.EmailStatus.PENDING, com.orderlee.model.EmailOutbox.EmailStatus.SENDING)")
+    long countQueued();
+    
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.orderlee.model.EmailOutbox.EmailStatus.PENDING, " +
+           "e.claimedAt = null WHERE e.status = com.orderlee.model.EmailOutbox.EmailStatus.SENDING " +
+           "AND e.claimedAt < :claimedBefore")
+    int releaseStaleClaims(@Param("claimedBefore") LocalDateTime claimedBefore);
+}
\ No newline at end of file
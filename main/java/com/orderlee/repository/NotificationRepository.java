@@ -1,12 +1,21 @@
 package com.orderlee.repository;
 
 import com.orderlee.model.Notification;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
@@ -15,5 +24,65 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.business.id = :businessId AND n.isRead = false")
     Long countUnreadByBusinessId(@Param("businessId") Long businessId);
     
+    @Query("SELECT n.business.id, COUNT(n) FROM Notification n " +
+           "WHERE n.business.id IN :businessIds AND n.isRead = false GROUP BY n.business.id")
+    List<Object[]> countUnreadByBusinessIds(@Param("businessIds") Collection<Long> businessIds);
+    
     List<Notification> findByBusinessIdAndIsReadOrderByCreatedAtDesc(Long businessId, Boolean isRead);
+    Optional<Notification> findFirstByBusinessIdAndTypeAndIsReadFalseAndCreatedAtAfterOrderByCreatedAtDesc(
+        Long businessId, String type, LocalDateTime createdAfter);
+    
+    // Guarded on isRead so a notification read in the meantime is left alone and a new row is created
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.occurrenceCount = COALESCE(n.occurrenceCount, 1) + 1, " +
+           "n.title = :title, n.message = :message, n.updatedAt = :now WHERE n.id = :id AND n.isRead = false")
+    int collapseInto(@Param("id") Long id,
+                     @Param("title") String title,
+                     @Param("message") String message,
+                     @Param("now") LocalDateTime now);
+    
+    // Bulk update bypasses auditing, so updatedAt is set explicitly
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.updatedAt = :now " +
+           "WHERE n.business.id = :businessId AND n.isRead = false")
+    int markAllRead(@Param("businessId") Long businessId, @Param("now") LocalDateTime now);
+    
+    // Bounded by the same (createdAt, id) order the list pages in, so only what the client has seen is acknowledged
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.updatedAt = :now " +
+           "WHERE n.business.id = :businessId AND n.isRead = false AND " +
+           "(n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id <= :id))")
+    int markReadUpTo(@Param("businessId") Long businessId,
+                     @Param("createdAt") LocalDateTime createdAt,
+                     @Param("id") Long id,
+                     @Param("now") LocalDateTime now);
+    
+    // Lock timeout -2 is SKIP LOCKED, so retention runs on several instances take disjoint chunks
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT n FROM Notification n WHERE n.isRead = true AND n.createdAt < :cutoff ORDER BY n.createdAt")
+    List<Notification> findReadBeforeForUpdate(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    @Modifying
+    @Query("INSERT INTO NotificationArchive (notificationId, businessId, type, title, message, actionRequired, " +
+           "occurrenceCount, notificationCreatedAt, createdAt, updatedAt) " +
+           "SELECT n.id, n.business.id, n.type, n.title, n.message, n.actionRequired, " +
+           "COALESCE(n.occurrenceCount, 1), n.createdAt, :now, :now FROM Notification n WHERE n.id IN :ids")
+    int archiveByIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT n FROM Notification n WHERE n.business.id = :businessId " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFirstPageByBusinessId(@Param("businessId") Long businessId, Pageable pageable);
+    
+    @Query("SELECT n FROM Notification n WHERE n.business.id = :businessId AND " +
+           "(n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findNextPageByBusinessId(@Param("businessId") Long businessId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
 }
\ No newline at end of file
@@ -1,13 +1,22 @@
 package com.orderlee.repository;
 
+import com.orderlee.dto.response.OrderItemResponse;
 import com.orderlee.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
     List<OrderItem> findByProductId(Long productId);
+    
+    @Query("SELECT new com.orderlee.dto.response.OrderItemResponse(oi.id, oi.order.id, p.id, p.name, p.sku, " +
+           "oi.quantity, oi.unitPrice, oi.totalPrice) FROM OrderItem oi JOIN oi.product p " +
+           "WHERE oi.order.id IN :orderIds ORDER BY oi.id")
+    List<OrderItemResponse> findResponsesByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
\ No newline at end of file
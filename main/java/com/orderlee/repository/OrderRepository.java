@@ -1,22 +1,37 @@
 package com.orderlee.repository;
 
+import com.orderlee.dto.response.OrderResponse;
 import com.orderlee.model.Order;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    // Read-model projection; selecting scalars keeps the inverse one-to-one Order.shipment from loading per row
+    String ORDER_RESPONSE = "SELECT new com.orderlee.dto.response.OrderResponse(o.id, o.orderNumber, " +
+                            "o.customerName, o.customerEmail, o.customerPhone, o.shippingAddress, o.orderSource, " +
+                            "o.notes, o.paymentStatus, o.orderStatus, o.subtotal, o.taxAmount, o.totalAmount, " +
+                            "o.createdAt, o.updatedAt) FROM Order o ";
+    
     List<Order> findByBusinessId(Long businessId);
     Optional<Order> findByOrderNumber(String orderNumber);
     List<Order> findByBusinessIdAndOrderStatus(Long businessId, Order.OrderStatus status);
     List<Order> findByBusinessIdAndPaymentStatus(Long businessId, Order.PaymentStatus status);
     
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+    
     @Query("SELECT o FROM Order o WHERE o.business.id = :businessId AND " +
            "o.createdAt BETWEEN :startDate AND :endDate")
     List<Order> findOrdersByDateRange(@Param("businessId") Long businessId, 
@@ -25,4 +40,36 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     @Query("SELECT COUNT(o) FROM Order o WHERE o.business.id = :businessId")
     Long countOrdersByBusiness(@Param("businessId") Long businessId);
+    
+    @Query("SELECT COUNT(o) FROM Order o WHERE o.business.id = :businessId AND o.createdAt >= :since")
+    Long countOrdersCreatedSince(@Param("businessId") Long businessId, @Param("since") LocalDateTime since);
+    
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.business.id = :businessId")
+    BigDecimal sumTotalAmountByBusiness(@Param("businessId") Long businessId);
+    
+    @Query(ORDER_RESPONSE + "WHERE o.business.id = :businessId ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderResponse> findFirstPageByBusinessId(@Param("businessId") Long businessId, Pageable pageable);
+    
+    @Query(ORDER_RESPONSE + "WHERE o.business.id = :businessId AND " +
+           "(o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderResponse> findNextPageByBusinessId(@Param("businessId") Long businessId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+    
+    @Query(ORDER_RESPONSE + "WHERE o.business.id = :businessId AND o.orderStatus = :status " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderResponse> findFirstPageByBusinessIdAndOrderStatus(@Param("businessId") Long businessId,
+                                                                @Param("status") Order.OrderStatus status,
+                                                                Pageable pageable);
+    
+    @Query(ORDER_RESPONSE + "WHERE o.business.id = :businessId AND o.orderStatus = :status AND " +
+           "(o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderResponse> findNextPageByBusinessIdAndOrderStatus(@Param("businessId") Long businessId,
+                                                               @Param("status") Order.OrderStatus status,
+                                                               @Param("createdAt") LocalDateTime createdAt,
+                                                               @Param("id") Long id,
+                                                               Pageable pageable);
 }
\ No newline at end of file
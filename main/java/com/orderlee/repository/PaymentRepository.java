@@ -1,23 +1,54 @@
 package com.orderlee.repository;
 
+import com.orderlee.dto.response.PaymentResponse;
 import com.orderlee.model.Payment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
+    String PAYMENT_RESPONSE = "SELECT new com.orderlee.dto.response.PaymentResponse(p.id, p.paymentId, o.id, " +
+                              "o.orderNumber, p.amount, p.paymentMethod, p.paymentStatus, p.transactionReference, " +
+                              "p.processingFee, p.notes, p.createdAt, p.updatedAt) FROM Payment p JOIN p.order o ";
+    
     Optional<Payment> findByPaymentId(String paymentId);
     List<Payment> findByOrderId(Long orderId);
+    Optional<Payment> findByOrderIdAndTransactionReference(Long orderId, String transactionReference);
+    
+    @Query("SELECT p.order.id FROM Payment p WHERE p.id = :paymentId")
+    Optional<Long> findOrderIdById(@Param("paymentId") Long paymentId);
+    
+    @Query("SELECT COUNT(p), " +
+           "COALESCE(SUM(CASE WHEN p.paymentStatus = com.orderlee.model.Payment.PaymentStatus.COMPLETED THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.paymentStatus = com.orderlee.model.Payment.PaymentStatus.COMPLETED THEN p.amount ELSE 0 END), 0) " +
+           "FROM Payment p WHERE p.order.id = :orderId")
+    List<Object[]> summarizeByOrderId(@Param("orderId") Long orderId);
     
-    @Query("SELECT p FROM Payment p WHERE p.order.business.id = :businessId")
+    @Query("SELECT p FROM Payment p WHERE p.business.id = :businessId")
     List<Payment> findByBusinessId(@Param("businessId") Long businessId);
     
-    @Query("SELECT p FROM Payment p WHERE p.order.business.id = :businessId AND p.paymentStatus = :status")
+    @Query("SELECT p FROM Payment p WHERE p.business.id = :businessId AND p.paymentStatus = :status")
     List<Payment> findByBusinessIdAndStatus(@Param("businessId") Long businessId, 
                                           @Param("status") Payment.PaymentStatus status);
+    
+    @Query(PAYMENT_RESPONSE + "WHERE p.business.id = :businessId ORDER BY p.createdAt DESC, p.id DESC")
+    List<PaymentResponse> findFirstPageByBusinessId(@Param("businessId") Long businessId, Pageable pageable);
+    
+    @Query(PAYMENT_RESPONSE + "WHERE p.business.id = :businessId AND " +
+           "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PaymentResponse> findNextPageByBusinessId(@Param("businessId") Long businessId,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+    
+    @Query(PAYMENT_RESPONSE + "WHERE o.id = :orderId ORDER BY p.createdAt DESC, p.id DESC")
+    List<PaymentResponse> findResponsesByOrderId(@Param("orderId") Long orderId);
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.orderlee.repository;
 
 import com.orderlee.model.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,12 +18,46 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByBusinessId(Long businessId);
     List<Product> findByBusinessIdAndCategory(Long businessId, String category);
     Optional<Product> findByBusinessIdAndSku(Long businessId, String sku);
+    Long countByBusinessId(Long businessId);
+    
+    @Query("SELECT p.stockQuantity FROM Product p WHERE p.id = :productId")
+    Optional<Integer> findStockQuantityById(@Param("productId") Long productId);
     
     @Query("SELECT p FROM Product p WHERE p.business.id = :businessId AND p.stockQuantity <= p.reorderLevel")
     List<Product> findLowStockProducts(@Param("businessId") Long businessId);
     
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.business.id = :businessId AND p.stockQuantity <= p.reorderLevel")
+    Long countLowStockProducts(@Param("businessId") Long businessId);
+    
     @Query("SELECT p FROM Product p WHERE p.business.id = :businessId AND " +
            "(LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(p.sku) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
     List<Product> searchProducts(@Param("businessId") Long businessId, @Param("searchTerm") String searchTerm);
+    
+    @Query("SELECT p.id FROM Product p WHERE p.business.id = :businessId AND p.id IN :ids")
+    List<Long> findIdsByBusinessIdAndIdIn(@Param("businessId") Long businessId, @Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT p.id, p.name, p.sku FROM Product p WHERE p.business.id = :businessId ORDER BY p.id")
+    List<Object[]> findSearchFieldsByBusinessId(@Param("businessId") Long businessId);
+    
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity " +
+           "WHERE p.id = :productId AND p.stockQuantity >= :quantity")
+    int decrementStock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
+    
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :delta WHERE p.id = :productId")
+    int adjustStock(@Param("productId") Long productId, @Param("delta") Integer delta);
+    
+    @Query("SELECT p FROM Product p WHERE p.business.id = :businessId " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Product> findFirstPageByBusinessId(@Param("businessId") Long businessId, Pageable pageable);
+    
+    @Query("SELECT p FROM Product p WHERE p.business.id = :businessId AND " +
+           "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Product> findNextPageByBusinessId(@Param("businessId") Long businessId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
 }
\ No newline at end of file
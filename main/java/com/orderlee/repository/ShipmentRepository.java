@@ -1,23 +1,66 @@
 package com.orderlee.repository;
 
+import com.orderlee.dto.response.ShipmentResponse;
 import com.orderlee.model.Shipment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
+    String SHIPMENT_RESPONSE = "SELECT new com.orderlee.dto.response.ShipmentResponse(s.id, s.trackingNumber, " +
+                               "s.carrierName, s.shipmentStatus, s.estimatedDelivery, s.actualDelivery, " +
+                               "s.shippingCost, s.senderName, s.senderAddress, s.senderPhone, s.receiverName, " +
+                               "s.receiverAddress, s.receiverPhone, s.packageWeight, s.packageValue, " +
+                               "s.packageDescription, s.isFragile, o.id, o.orderNumber, s.createdAt, s.updatedAt) " +
+                               "FROM Shipment s JOIN s.order o ";
+    
     Optional<Shipment> findByTrackingNumber(String trackingNumber);
+    
+    @Query(SHIPMENT_RESPONSE + "WHERE s.trackingNumber = :trackingNumber")
+    Optional<ShipmentResponse> findResponseByTrackingNumber(@Param("trackingNumber") String trackingNumber);
+    
+    @Query("SELECT s.id, s.trackingNumber FROM Shipment s WHERE s.id > :afterId ORDER BY s.id")
+    List<Object[]> findTrackingNumbersAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
     Optional<Shipment> findByOrderId(Long orderId);
     
-    @Query("SELECT s FROM Shipment s WHERE s.order.business.id = :businessId")
+    @Query("SELECT s FROM Shipment s WHERE s.business.id = :businessId")
     List<Shipment> findByBusinessId(@Param("businessId") Long businessId);
     
-    @Query("SELECT s FROM Shipment s WHERE s.order.business.id = :businessId AND s.shipmentStatus = :status")
+    @Query("SELECT s FROM Shipment s WHERE s.business.id = :businessId AND s.shipmentStatus = :status")
     List<Shipment> findByBusinessIdAndStatus(@Param("businessId") Long businessId, 
                                            @Param("status") Shipment.ShipmentStatus status);
+    
+    @Query(SHIPMENT_RESPONSE + "WHERE s.business.id = :businessId ORDER BY s.createdAt DESC, s.id DESC")
+    List<ShipmentResponse> findFirstPageByBusinessId(@Param("businessId") Long businessId, Pageable pageable);
+    
+    @Query(SHIPMENT_RESPONSE + "WHERE s.business.id = :businessId AND " +
+           "(s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.id < :id)) " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<ShipmentResponse> findNextPageByBusinessId(@Param("businessId") Long businessId,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
+    
+    @Query(SHIPMENT_RESPONSE + "WHERE s.business.id = :businessId AND s.shipmentStatus = :status " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<ShipmentResponse> findFirstPageByBusinessIdAndStatus(@Param("businessId") Long businessId,
+                                                              @Param("status") Shipment.ShipmentStatus status,
+                                                              Pageable pageable);
+    
+    @Query(SHIPMENT_RESPONSE + "WHERE s.business.id = :businessId AND s.shipmentStatus = :status AND " +
+           "(s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.id < :id)) " +
+           "ORDER BY s.createdAt DESC, s.id DESC")
+    List<ShipmentResponse> findNextPageByBusinessIdAndStatus(@Param("businessId") Long businessId,
+                                                             @Param("status") Shipment.ShipmentStatus status,
+                                                             @Param("createdAt") LocalDateTime createdAt,
+                                                             @Param("id") Long id,
+                                                             Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.orderlee.repository;
+
+import com.orderlee.model.StripeWebhookEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StripeWebhookEventRepository extends JpaRepository<StripeWebhookEvent, Long> {
+    boolean existsByEventId(String eventId);
+    
+    long countByStatus(StripeWebhookEvent.EventStatus status);
+    
+    // Lock timeout -2 is SKIP LOCKED; an event another worker is processing is simply passed over
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM StripeWebhookEvent e WHERE e.id = :id")
+    Optional<StripeWebhookEvent> findByIdForUpdate(@Param("id") Long id);
+    
+    @Query("SELECT e.id FROM StripeWebhookEvent e WHERE " +
+           "e.status = com.orderlee.model.StripeWebhookEvent.EventStatus.PENDING AND e.nextAttemptAt <= :now " +
+           "ORDER BY e.nextAttemptAt, e.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+}
\ No newline at end of file
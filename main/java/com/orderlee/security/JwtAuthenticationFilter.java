@@ -1,7 +1,9 @@
 package com.orderlee.security;
 
 import com.orderlee.model.User;
+import com.orderlee.repository.BusinessRepository;
 import com.orderlee.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +12,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -21,45 +22,74 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
+    private static final String NOTIFICATION_STREAM_PATH = "/api/notifications/stream";
+    
     @Autowired
     private JwtTokenProvider tokenProvider;
     
     @Autowired
-    private UserDetailsService userDetailsService;
+    private UserPrincipalCache principalCache;
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private BusinessRepository businessRepository;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         try {
-            String jwt = getJwtFromRequest(request);
-            
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromJWT(jwt);
+            Claims claims = getClaimsFromRequest(request);
+            if (claims != null) {
+                Long userId = Long.parseLong(claims.getSubject());
+                
+                UserPrincipalCache.CachedPrincipal cached = principalCache.get(userId);
+                if (cached == null) {
+                    User user = userRepository.findById(userId).orElse(null);
+                    if (user != null) {
+                        cached = principalCache.put(userId, UserPrincipal.create(user),
+                            businessRepository.findIdByUserId(userId).orElse(null));
+                    }
+                }
                 
-                User user = userRepository.findById(userId).orElse(null);
-                if (user != null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
+                if (cached != null) {
+                    UserDetails userDetails = cached.getPrincipal();
                     UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    TenantContext.set(new TenantContext(userId, cached.getBusinessId()));
                 }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
         
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
     }
     
-    private String getJwtFromRequest(HttpServletRequest request) {
+    private Claims getClaimsFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
+            // A stream ticket is never accepted as an access token
+            return tokenProvider.parseVerifiedClaims(bearerToken.substring(7))
+                .filter(claims -> !tokenProvider.isStreamTicket(claims))
+                .orElse(null);
+        }
+        
+        // Browser EventSource cannot set headers, so the notification stream takes a short-lived
+        // ticket from ?ticket= instead; the access token itself is never read from the URL
+        String ticket = request.getParameter("ticket");
+        if (NOTIFICATION_STREAM_PATH.equals(request.getServletPath()) && StringUtils.hasText(ticket)) {
+            return tokenProvider.parseVerifiedClaims(ticket)
+                .filter(tokenProvider::isStreamTicket)
+                .orElse(null);
         }
         return null;
     }
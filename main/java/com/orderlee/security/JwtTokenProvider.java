@@ -2,62 +2,98 @@ package com.orderlee.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtTokenProvider {
     
+    private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
+    
+    private static final String PURPOSE_CLAIM = "purpose";
+    private static final String STREAM_TICKET_PURPOSE = "notification-stream";
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
     @Value("${jwt.expiration}")
     private int jwtExpirationInMs;
     
+    @Value("${jwt.stream-ticket-expiration:60000}")
+    private int streamTicketExpirationInMs;
+    
+    // Both are immutable and thread-safe, so they are built once instead of on every call
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+    
     public String generateToken(Long userId) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
         
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return Jwts.builder()
+                .setSubject(Long.toString(userId))
+                .setIssuedAt(new Date())
+                .setExpiration(expiryDate)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
+                .compact();
+    }
+    
+    // EventSource has to carry its credential in the URL, where it lands in access logs and browser
+    // history, so it gets a ticket that expires within a minute and opens nothing but the stream
+    public String generateStreamTicket(Long userId) {
+        Date expiryDate = new Date(System.currentTimeMillis() + streamTicketExpirationInMs);
         
         return Jwts.builder()
                 .setSubject(Long.toString(userId))
+                .claim(PURPOSE_CLAIM, STREAM_TICKET_PURPOSE)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
     
+    public boolean isStreamTicket(Claims claims) {
+        return STREAM_TICKET_PURPOSE.equals(claims.get(PURPOSE_CLAIM, String.class));
+    }
+    
     public Long getUserIdFromJWT(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
         
         return Long.parseLong(claims.getSubject());
     }
     
     public boolean validateToken(String authToken) {
+        return parseVerifiedClaims(authToken).isPresent();
+    }
+    
+    // Rejected tokens are routine client errors, so they stay out of the logs unless debugging
+    public Optional<Claims> parseVerifiedClaims(String authToken) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
-            return true;
+            return Optional.of(jwtParser.parseClaimsJws(authToken).getBody());
         } catch (SecurityException ex) {
-            System.err.println("Invalid JWT signature");
+            log.debug("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
-            System.err.println("Invalid JWT token");
+            log.debug("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
-            System.err.println("Expired JWT token");
+            log.debug("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
-            System.err.println("Unsupported JWT token");
+            log.debug("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
-            System.err.println("JWT claims string is empty");
+            log.debug("JWT claims string is empty");
         }
-        return false;
+        return Optional.empty();
     }
 }
\ No newline at end of file
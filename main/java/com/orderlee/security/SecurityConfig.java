@@ -1,6 +1,9 @@
 package com.orderlee.security;
 
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,6 +30,12 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationEntryPoint unauthorizedHandler;
     
+    @Value("${server.port:8080}")
+    private int serverPort;
+    
+    @Value("${management.server.port:${server.port:8080}}")
+    private int managementPort;
+    
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
         return new JwtAuthenticationFilter();
@@ -56,9 +65,13 @@ public class SecurityConfig {
             .exceptionHandling().authenticationEntryPoint(unauthorizedHandler).and()
             .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
             .authorizeHttpRequests(authz -> authz
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // SSE completion, already authorized
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/api/shipments/tracking/**").permitAll() // Public tracking
+                .requestMatchers("/api/stripe/webhook").permitAll() // Verified by the Stripe signature instead
+                .requestMatchers("/actuator/health").permitAll() // Probes
+                .requestMatchers(this::isScrapeOnManagementPort).permitAll()
                 .anyRequest().authenticated()
             );
         
@@ -70,4 +83,10 @@ public class SecurityConfig {
         
         return http.build();
     }
+    
+    // Metrics stay unauthenticated only on a management port of their own; on the API port they need a token
+    private boolean isScrapeOnManagementPort(HttpServletRequest request) {
+        return managementPort != serverPort && request.getLocalPort() == managementPort
+            && "/actuator/prometheus".equals(request.getRequestURI());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.orderlee.security;
+
+/**
+ * The user and business the current request acts for, resolved once by
+ * {@link JwtAuthenticationFilter} and cleared when the request completes.
+ */
+public final class TenantContext {
+    
+    private static final ThreadLocal<TenantContext> CURRENT = new ThreadLocal<>();
+    
+    private final Long userId;
+    private final Long businessId;
+    
+    public TenantContext(Long userId, Long businessId) {
+        this.userId = userId;
+        this.businessId = businessId;
+    }
+    
+    public static TenantContext getCurrent() {
+        return CURRENT.get();
+    }
+    
+    public static void set(TenantContext tenantContext) {
+        CURRENT.set(tenantContext);
+    }
+    
+    public static void clear() {
+        CURRENT.remove();
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public Long getBusinessId() {
+        return businessId;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.orderlee.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, TTL-evicting cache of verified principals and their business id, keyed by user id,
+ * so authenticated requests do not reload the user on every call.
+ */
+@Component
+public class UserPrincipalCache {
+    
+    @Value("${orderlee.security.principal-cache.max-size:10000}")
+    private int maxSize;
+    
+    @Value("${orderlee.security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+    
+    private final ConcurrentHashMap<Long, CachedPrincipal> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    public CachedPrincipal get(Long userId) {
+        CachedPrincipal cached = entries.get(userId);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            hits.increment();
+            return cached;
+        }
+        if (cached != null) {
+            entries.remove(userId, cached);
+        }
+        misses.increment();
+        return null;
+    }
+    
+    public CachedPrincipal put(Long userId, UserPrincipal principal, Long businessId) {
+        CachedPrincipal cached = new CachedPrincipal(principal, businessId,
+            System.currentTimeMillis() + ttlSeconds * 1000);
+        if (entries.size() >= maxSize) {
+            evictOverflow();
+        }
+        entries.put(userId, cached);
+        return cached;
+    }
+    
+    public void evict(Long userId) {
+        entries.remove(userId);
+    }
+    
+    public void clear() {
+        entries.clear();
+    }
+    
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    private void evictOverflow() {
+        // Drop expired entries first; if the cache is still full, drop arbitrary ones down to 90%
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(cached -> cached.expiresAt <= now);
+        
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<Map.Entry<Long, CachedPrincipal>> iterator = entries.entrySet().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+    
+    public static class CachedPrincipal {
+        private final UserPrincipal principal;
+        private final Long businessId;
+        private final long expiresAt;
+        
+        CachedPrincipal(UserPrincipal principal, Long businessId, long expiresAt) {
+            this.principal = principal;
+            this.businessId = businessId;
+            this.expiresAt = expiresAt;
+        }
+        
+        public UserPrincipal getPrincipal() {
+            return principal;
+        }
+        
+        public Long getBusinessId() {
+            return businessId;
+        }
+    }
+}
\ No newline at end of file
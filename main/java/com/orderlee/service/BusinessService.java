@@ -8,4 +8,6 @@ public interface BusinessService {
     Business updateBusiness(Long businessId, BusinessRequest businessRequest);
     Business getBusinessByUserId(Long userId);
     Business getCurrentUserBusiness();
+    Long getCurrentBusinessId();
+    Business getCurrentBusinessReference();
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.orderlee.service;
+
+import java.util.Map;
+
+public interface DashboardService {
+    Map<String, Object> getDashboardStats();
+    void evictStats(Long businessId);
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.orderlee.service;
+
+public interface InventoryLedger {
+    boolean tryReserve(Long productId, int quantity);
+    void release(Long productId, int quantity);
+    void evict(Long productId);
+    void flush();
+}
@@ -1,14 +1,18 @@
 package com.orderlee.service;
 
+import com.orderlee.dto.response.CursorPage;
 import com.orderlee.model.Notification;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
 public interface NotificationService {
-    List<Notification> getNotificationsByBusiness();
+    CursorPage<Notification> getNotificationsByBusiness(String cursor, Integer size);
     void markAsRead(Long notificationId);
-    void markAllAsRead();
+    int markAllAsRead(String upTo);
     void deleteNotification(Long notificationId);
     void createNotification(String type, String title, String message, Boolean actionRequired);
     Long getUnreadCount();
+    String issueStreamTicket();
+    SseEmitter openStream();
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.orderlee.service;
+
+import com.orderlee.dto.response.OrderImportResult;
+
+import java.io.Reader;
+
+public interface OrderImportService {
+    OrderImportResult importCsv(Reader reader);
+    OrderImportResult importNdjson(Reader reader);
+}
\ No newline at end of file
@@ -1,17 +1,17 @@
 package com.orderlee.service;
 
 import com.orderlee.dto.request.OrderRequest;
+import com.orderlee.dto.response.CursorPage;
+import com.orderlee.dto.response.OrderResponse;
 import com.orderlee.model.Order;
 
-import java.util.List;
-
 public interface OrderService {
     Order createOrder(OrderRequest orderRequest);
     Order updateOrderStatus(Long orderId, Order.OrderStatus status);
     Order updatePaymentStatus(Long orderId, Order.PaymentStatus status);
     Order getOrderById(Long orderId);
     Order getOrderByNumber(String orderNumber);
-    List<Order> getOrdersByBusiness();
-    List<Order> getOrdersByStatus(Order.OrderStatus status);
+    CursorPage<OrderResponse> getOrdersByBusiness(String cursor, Integer size);
+    CursorPage<OrderResponse> getOrdersByStatus(Order.OrderStatus status, String cursor, Integer size);
     void cancelOrder(Long orderId);
 }
\ No newline at end of file
@@ -1,14 +1,19 @@
 package com.orderlee.service;
 
 import com.orderlee.dto.request.PaymentRequest;
+import com.orderlee.dto.response.CursorPage;
+import com.orderlee.dto.response.PaymentResponse;
 import com.orderlee.model.Payment;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 public interface PaymentService {
     Payment processPayment(PaymentRequest paymentRequest);
     Payment updatePaymentStatus(Long paymentId, Payment.PaymentStatus status);
+    Payment recordGatewayPayment(Long orderId, String transactionReference, BigDecimal amount,
+                                 Payment.PaymentStatus status);
     Payment getPaymentById(Long paymentId);
-    List<Payment> getPaymentsByOrder(Long orderId);
-    List<Payment> getPaymentsByBusiness();
+    List<PaymentResponse> getPaymentsByOrder(Long orderId);
+    CursorPage<PaymentResponse> getPaymentsByBusiness(String cursor, Integer size);
 }
\ No newline at end of file
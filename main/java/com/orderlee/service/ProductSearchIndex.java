@@ -0,0 +1,10 @@
+package com.orderlee.service;
+
+import java.util.List;
+
+public interface ProductSearchIndex {
+    List<Long> search(Long businessId, String searchTerm, int limit);
+    void index(Long businessId, Long productId, String name, String sku);
+    void remove(Long businessId, Long productId);
+    void refresh();
+}
\ No newline at end of file
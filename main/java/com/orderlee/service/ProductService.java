@@ -1,6 +1,8 @@
 package com.orderlee.service;
 
 import com.orderlee.dto.request.ProductRequest;
+import com.orderlee.dto.response.CursorPage;
+import com.orderlee.dto.response.SearchResults;
 import com.orderlee.model.Product;
 
 import java.util.List;
@@ -9,8 +11,8 @@ public interface ProductService {
     Product createProduct(ProductRequest productRequest);
     Product updateProduct(Long productId, ProductRequest productRequest);
     Product getProductById(Long productId);
-    List<Product> getProductsByBusiness();
+    CursorPage<Product> getProductsByBusiness(String cursor, Integer size);
     List<Product> getLowStockProducts();
     void deleteProduct(Long productId);
-    List<Product> searchProducts(String searchTerm);
+    SearchResults<Product> searchProducts(String searchTerm);
 }
\ No newline at end of file
@@ -1,15 +1,15 @@
 package com.orderlee.service;
 
 import com.orderlee.dto.request.ShipmentRequest;
+import com.orderlee.dto.response.CursorPage;
+import com.orderlee.dto.response.ShipmentResponse;
 import com.orderlee.model.Shipment;
 
-import java.util.List;
-
 public interface ShipmentService {
     Shipment createShipment(ShipmentRequest shipmentRequest);
     Shipment updateShipmentStatus(Long shipmentId, Shipment.ShipmentStatus status);
     Shipment getShipmentById(Long shipmentId);
-    Shipment getShipmentByTrackingNumber(String trackingNumber);
-    List<Shipment> getShipmentsByBusiness();
-    List<Shipment> getShipmentsByStatus(Shipment.ShipmentStatus status);
+    ShipmentResponse getShipmentByTrackingNumber(String trackingNumber);
+    CursorPage<ShipmentResponse> getShipmentsByBusiness(String cursor, Integer size);
+    CursorPage<ShipmentResponse> getShipmentsByStatus(Shipment.ShipmentStatus status, String cursor, Integer size);
 }
\ No newline at end of file
@@ -6,14 +6,19 @@ import com.orderlee.exception.BadRequestException;
 import com.orderlee.model.Business;
 import com.orderlee.model.User;
 import com.orderlee.repository.BusinessRepository;
+import com.orderlee.security.TenantContext;
+import com.orderlee.security.UserPrincipalCache;
 import com.orderlee.service.BusinessService;
 import com.orderlee.service.UserService;
+import com.orderlee.util.TransactionHooks;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Transactional
+@Timed("orderlee.service")
 public class BusinessServiceImpl implements BusinessService {
     
     @Autowired
@@ -22,6 +27,9 @@ public class BusinessServiceImpl implements BusinessService {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private UserPrincipalCache principalCache;
+    
     @Override
     public Business createBusiness(BusinessRequest businessRequest) {
         User currentUser = userService.getCurrentUser();
@@ -34,7 +42,11 @@ public class BusinessServiceImpl implements BusinessService {
         mapRequestToBusiness(businessRequest, business);
         business.setUser(currentUser);
         
-        return businessRepository.save(business);
+        Business savedBusiness = businessRepository.save(business);
+        TenantContext.set(new TenantContext(currentUser.getId(), savedBusiness.getId()));
+        TransactionHooks.afterCommit(() -> principalCache.evict(currentUser.getId()));
+        
+        return savedBusiness;
     }
     
     @Override
@@ -53,17 +65,42 @@ public class BusinessServiceImpl implements BusinessService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Business getBusinessByUserId(Long userId) {
         return businessRepository.findByUserId(userId)
             .orElseThrow(() -> new ResourceNotFoundException("Business", "userId", userId));
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Business getCurrentUserBusiness() {
+        TenantContext tenant = TenantContext.getCurrent();
+        if (tenant != null && tenant.getBusinessId() != null) {
+            return businessRepository.findById(tenant.getBusinessId())
+                .orElseThrow(() -> new ResourceNotFoundException("Business", "id", tenant.getBusinessId()));
+        }
+        
         User currentUser = userService.getCurrentUser();
         return getBusinessByUserId(currentUser.getId());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public Long getCurrentBusinessId() {
+        // Resolved once per request by the JWT filter; fall back to the lookups for other callers
+        TenantContext tenant = TenantContext.getCurrent();
+        if (tenant != null && tenant.getBusinessId() != null) {
+            return tenant.getBusinessId();
+        }
+        
+        return getCurrentUserBusiness().getId();
+    }
+    
+    @Override
+    public Business getCurrentBusinessReference() {
+        return businessRepository.getReferenceById(getCurrentBusinessId());
+    }
+    
     private void mapRequestToBusiness(BusinessRequest request, Business business) {
         business.setBusinessName(request.getBusinessName());
         business.setRegistrationNumber(request.getRegistrationNumber());
@@ -0,0 +1,147 @@
+package com.orderlee.service.impl;
+
+import com.orderlee.config.MetricsConfig;
+import com.orderlee.config.ReplicaRoutingDataSource;
+import com.orderlee.repository.OrderRepository;
+import com.orderlee.repository.ProductRepository;
+import com.orderlee.service.BusinessService;
+import com.orderlee.service.DashboardService;
+import com.orderlee.util.TransactionHooks;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+@Transactional
+@Timed("orderlee.service")
+public class DashboardServiceImpl implements DashboardService {
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private BusinessService businessService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${orderlee.dashboard.stats-ttl-seconds:60}")
+    private long statsTtlSeconds;
+    
+    @Value("${orderlee.dashboard.stats-max-entries:10000}")
+    private int statsMaxEntries;
+    
+    // Per-business rollups; writes that change a figure evict the entry, the TTL bounds the recent-orders window
+    private final ConcurrentHashMap<Long, CachedStats> statsCache = new ConcurrentHashMap<>();
+    // Bumped on every eviction so figures computed while a write was committing are not cached
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    // Bound here rather than from outside: calls through the transactional proxy would open a transaction
+    @PostConstruct
+    public void bindMetrics() {
+        MetricsConfig.bindCache(meterRegistry, "dashboard-stats", this, service -> service.statsCache.size(),
+            service -> service.hits.sum(), service -> service.misses.sum());
+    }
+    
+    // Hits never touch a connection; on a miss each query opens its own transaction on the primary
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<String, Object> getDashboardStats() {
+        Long businessId = businessService.getCurrentBusinessId();
+        
+        CachedStats cached = statsCache.get(businessId);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            hits.increment();
+            return cached.stats;
+        }
+        
+        misses.increment();
+        long stamp = invalidations.get();
+        Map<String, Object> snapshot = ReplicaRoutingDataSource.onPrimary(() -> computeStats(businessId));
+        long now = System.currentTimeMillis();
+        if (statsCache.size() >= statsMaxEntries) {
+            evictOverflow(now);
+        }
+        if (invalidations.get() == stamp) {
+            statsCache.put(businessId, new CachedStats(snapshot, now + statsTtlSeconds * 1000));
+        }
+        return snapshot;
+    }
+    
+    @Override
+    public void evictStats(Long businessId) {
+        // Evict once the write is visible; a read that started before it sees the stamp move and skips its put
+        TransactionHooks.afterCommit(() -> {
+            invalidations.incrementAndGet();
+            statsCache.remove(businessId);
+        });
+    }
+    
+    private Map<String, Object> computeStats(Long businessId) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        
+        // Order statistics
+        stats.put("totalOrders", orderRepository.countOrdersByBusiness(businessId));
+        
+        // Product statistics
+        stats.put("totalProducts", productRepository.countByBusinessId(businessId));
+        stats.put("lowStockProducts", productRepository.countLowStockProducts(businessId));
+        
+        // Revenue calculation (simplified)
+        BigDecimal totalRevenue = orderRepository.sumTotalAmountByBusiness(businessId);
+        stats.put("totalRevenue", totalRevenue);
+        
+        // Recent activity
+        LocalDateTime lastWeek = LocalDateTime.now().minusDays(7);
+        stats.put("recentOrders", orderRepository.countOrdersCreatedSince(businessId, lastWeek));
+        
+        return Collections.unmodifiableMap(stats);
+    }
+    
+    private void evictOverflow(long now) {
+        statsCache.values().removeIf(cached -> cached.expiresAt <= now);
+        if (statsCache.size() < statsMaxEntries) {
+            return;
+        }
+        
+        // Still full of live entries: drop the tenth closest to expiry
+        List<Map.Entry<Long, CachedStats>> live = new ArrayList<>(statsCache.entrySet());
+        live.sort(Comparator.comparingLong(entry -> entry.getValue().expiresAt));
+        int drop = Math.max(1, statsMaxEntries / 10);
+        for (int i = 0; i < drop && i < live.size(); i++) {
+            statsCache.remove(live.get(i).getKey(), live.get(i).getValue());
+        }
+    }
+    
+    private static class CachedStats {
+        private final Map<String, Object> stats;
+        private final long expiresAt;
+        
+        CachedStats(Map<String, Object> stats, long expiresAt) {
+            this.stats = stats;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,243 @@
+package com.orderlee.service.impl;
+
+import com.orderlee.model.EmailOutbox;
+import com.orderlee.repository.EmailOutboxRepository;
+import com.orderlee.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the email outbox on a small pool of worker threads. Each worker claims a batch of due
+ * rows, sends the whole batch through one SMTP connection and then deletes the sent rows or
+ * schedules a retry with exponential backoff for the failed ones.
+ */
+@Component
+public class EmailOutboxDispatcher {
+    
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+    
+    @Autowired
+    private JavaMailSender mailSender;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+    
+    @Value("${orderlee.mail.outbox.workers:2}")
+    private int workers;
+    
+    @Value("${orderlee.mail.outbox.batch-size:50}")
+    private int batchSize;
+    
+    @Value("${orderlee.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+    
+    @Value("${orderlee.mail.outbox.backoff-ms:5000}")
+    private long backoffMs;
+    
+    @Value("${orderlee.mail.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+    
+    @Value("${orderlee.mail.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+    
+    @Value("${orderlee.mail.outbox.claim-timeout-ms:300000}")
+    private long claimTimeoutMs;
+    
+    private final Object signal = new Object();
+    private volatile boolean running = true;
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+    
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::run);
+        }
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        wakeUp();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    
+    public void wakeUpAfterCommit() {
+        TransactionHooks.afterCommit(this::wakeUp);
+    }
+    
+    // Rows stay in SENDING if a worker dies mid-batch; hand them back once the claim is old enough
+    @Scheduled(fixedDelayString = "${orderlee.mail.outbox.claim-timeout-ms:300000}")
+    public void releaseStaleClaims() {
+        LocalDateTime claimedBefore = LocalDateTime.now().minus(Duration.ofMillis(claimTimeoutMs));
+        Integer released = transactionTemplate.execute(status -> outboxRepository.releaseStaleClaims(claimedBefore));
+        if (released != null && released > 0) {
+            log.warn("Released {} stale email outbox claims", released);
+            wakeUp();
+        }
+    }
+    
+    private void wakeUp() {
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+    
+    private void run() {
+        while (running) {
+            try {
+                if (drainBatch() == 0) {
+                    awaitWork();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Email outbox worker failed, retrying", e);
+                try {
+                    awaitWork();
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+    
+    private void awaitWork() throws InterruptedException {
+        synchronized (signal) {
+            if (running) {
+                signal.wait(pollIntervalMs);
+            }
+        }
+    }
+    
+    private int drainBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = transactionTemplate.execute(status -> {
+            List<EmailOutbox> due = outboxRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+            for (EmailOutbox email : due) {
+                email.setStatus(EmailOutbox.EmailStatus.SENDING);
+                email.setClaimedAt(now);
+            }
+            return due;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        
+        // The claim is committed before sending, so no database connection is held during SMTP I/O
+        Map<EmailOutbox, Exception> failures = send(batch);
+        transactionTemplate.executeWithoutResult(status -> complete(batch, failures));
+        return batch.size();
+    }
+    
+    private Map<EmailOutbox, Exception> send(List<EmailOutbox> batch) {
+        Map<SimpleMailMessage, EmailOutbox> byMessage = new IdentityHashMap<>();
+        for (EmailOutbox email : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(email.getRecipient());
+            message.setSubject(email.getSubject());
+            message.setText(email.getBody());
+            byMessage.put(message, email);
+        }
+        
+        Map<EmailOutbox, Exception> failures = new IdentityHashMap<>();
+        try {
+            // A multi-message send goes out over a single SMTP connection
+            mailSender.send(byMessage.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                batch.forEach(email -> failures.put(email, e));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> failures.put(byMessage.get(message), cause));
+            }
+        } catch (MailException e) {
+            batch.forEach(email -> failures.put(email, e));
+        }
+        return failures;
+    }
+    
+    private void complete(List<EmailOutbox> batch, Map<EmailOutbox, Exception> failures) {
+        List<Long> sentIds = new ArrayList<>();
+        List<EmailOutbox> retries = new ArrayList<>();
+        for (EmailOutbox email : batch) {
+            Exception failure = failures.get(email);
+            if (failure == null) {
+                sentIds.add(email.getId());
+                continue;
+            }
+            
+            int attempts = email.getAttempts() + 1;
+            email.setAttempts(attempts);
+            email.setClaimedAt(null);
+            email.setLastError(truncate(failure.getMessage()));
+            if (attempts >= maxAttempts) {
+                email.setStatus(EmailOutbox.EmailStatus.FAILED);
+                log.error("Giving up on email {} to {} after {} attempts", email.getId(), email.getRecipient(), attempts);
+            } else {
+                email.setStatus(EmailOutbox.EmailStatus.PENDING);
+                email.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoff(attempts))));
+            }
+            retries.add(email);
+        }
+        
+        if (!sentIds.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(sentIds);
+        }
+        if (!retries.isEmpty()) {
+            outboxRepository.saveAll(retries);
+        }
+    }
+    
+    private long backoff(int attempts) {
+        long delay = backoffMs << Math.min(attempts - 1, 20);
+        return Math.min(delay, maxBackoffMs);
+    }
+    
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
\ No newline at end of file
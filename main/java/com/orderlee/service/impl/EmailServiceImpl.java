@@ -1,53 +1,54 @@
 package com.orderlee.service.impl;
 
+import com.orderlee.exception.BadRequestException;
+import com.orderlee.model.EmailOutbox;
+import com.orderlee.repository.EmailOutboxRepository;
 import com.orderlee.service.EmailService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed("orderlee.service")
 public class EmailServiceImpl implements EmailService {
     
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxRepository outboxRepository;
     
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    @Autowired
+    private EmailOutboxDispatcher outboxDispatcher;
+    
+    @Value("${orderlee.mail.outbox.capacity:10000}")
+    private long outboxCapacity;
     
     @Override
     public void sendVerificationEmail(String email, String token) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(email);
-        message.setSubject("Verify Your Email - Orderlee");
-        message.setText("Please click the following link to verify your email: " +
-                       "http://localhost:3000/verify-email?token=" + token);
-        
-        mailSender.send(message);
+        enqueue(email, "Verify Your Email - Orderlee",
+                "Please click the following link to verify your email: " +
+                "http://localhost:3000/verify-email?token=" + token);
     }
     
     @Override
     public void sendPasswordResetEmail(String email, String token) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(email);
-        message.setSubject("Reset Your Password - Orderlee");
-        message.setText("Please click the following link to reset your password: " +
-                       "http://localhost:3000/reset-password?token=" + token);
-        
-        mailSender.send(message);
+        enqueue(email, "Reset Your Password - Orderlee",
+                "Please click the following link to reset your password: " +
+                "http://localhost:3000/reset-password?token=" + token);
     }
     
     @Override
     public void sendOrderConfirmationEmail(String email, String orderNumber) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(email);
-        message.setSubject("Order Confirmation - " + orderNumber);
-        message.setText("Your order " + orderNumber + " has been confirmed and is being processed.");
+        enqueue(email, "Order Confirmation - " + orderNumber,
+                "Your order " + orderNumber + " has been confirmed and is being processed.");
+    }
+    
+    private void enqueue(String email, String subject, String text) {
+        // The row joins the caller's transaction, so nothing is sent for a signup that rolls back
+        if (outboxRepository.countQueued() >= outboxCapacity) {
+            throw new BadRequestException("Email queue is full, please try again later");
+        }
         
-        mailSender.send(message);
+        outboxRepository.save(new EmailOutbox(email, subject, text));
+        outboxDispatcher.wakeUpAfterCommit();
     }
 }
\ No newline at end of file
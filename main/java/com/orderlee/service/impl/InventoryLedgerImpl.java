@@ -0,0 +1,264 @@
+package com.orderlee.service.impl;
+
+import com.orderlee.exception.ResourceNotFoundException;
+import com.orderlee.repository.ProductRepository;
+import com.orderlee.service.InventoryLedger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory available-stock counters for hot SKUs. Reservations are taken with a CAS on the
+ * per-product counter, and committed deltas are written back to the products table by a
+ * background flusher. Counters are loaded lazily from the database, so after a restart they
+ * are rebuilt from whatever the last flush persisted. A counter with nothing held or unflushed
+ * is dropped once it has been idle for orderlee.inventory.ledger.idle-ms, so only SKUs that are
+ * actually selling stay in memory.
+ */
+@Service
+@ConditionalOnProperty(name = "orderlee.inventory.ledger.enabled", havingValue = "true")
+public class InventoryLedgerImpl implements InventoryLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryLedgerImpl.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${orderlee.inventory.ledger.idle-ms:60000}")
+    private long idleMs;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Long, StockCounter> counters = new ConcurrentHashMap<>();
+    // Held while deltas are written back, so a reload never reads stock a running flush is about to change
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public boolean tryReserve(Long productId, int quantity) {
+        StockCounter counter;
+        Take take;
+        do {
+            counter = counterFor(productId);
+            take = counter.tryTake(quantity);
+        } while (take == Take.RETIRED);
+        if (take == Take.SHORT) {
+            return false;
+        }
+        StockCounter held = counter;
+
+        // The stock is held immediately; it only becomes a persisted delta once the order commits
+        afterTransaction(
+            () -> held.update(state -> new StockState(state.available, state.reserved - quantity, state.pending - quantity)),
+            () -> held.update(state -> new StockState(state.available + quantity, state.reserved - quantity, state.pending)));
+        return true;
+    }
+
+    @Override
+    public void release(Long productId, int quantity) {
+        StockCounter counter = counterFor(productId);
+        afterTransaction(
+            () -> apply(productId, counter, state -> new StockState(state.available + quantity, state.reserved, state.pending + quantity)),
+            () -> {});
+    }
+
+    @Override
+    public void evict(Long productId) {
+        // Used when the stock level is overwritten directly. The counter stays in place, because
+        // reservations still in flight complete against it; only its base is reloaded.
+        afterTransaction(() -> reload(productId), () -> {});
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${orderlee.inventory.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Long, Long> deltas = new HashMap<>();
+            counters.forEach((productId, counter) -> {
+                long delta = counter.drainPending();
+                if (delta != 0) {
+                    deltas.put(productId, delta);
+                }
+            });
+            if (!deltas.isEmpty()) {
+                writeBack(deltas);
+            }
+            evictIdle();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void writeBack(Map<Long, Long> deltas) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                deltas.forEach((productId, delta) -> productRepository.adjustStock(productId, Math.toIntExact(delta))));
+        } catch (RuntimeException e) {
+            log.warn("Inventory flush failed for {} products, will retry", deltas.size(), e);
+            deltas.forEach((productId, delta) -> counters.get(productId)
+                .update(state -> new StockState(state.available, state.reserved, state.pending + delta)));
+        }
+    }
+
+    private void evictIdle() {
+        // Runs under the flush lock after the write-back, so an idle counter holds nothing the
+        // database does not already have; it is retired first so a racing caller moves to a fresh one
+        long cutoff = System.currentTimeMillis() - idleMs;
+        counters.forEach((productId, counter) -> {
+            if (counter.lastAccess < cutoff && counter.retireIfIdle()) {
+                counters.remove(productId, counter);
+            }
+        });
+    }
+
+    private void reload(Long productId) {
+        StockCounter counter = counters.get(productId);
+        if (counter == null) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            int stock = productRepository.findStockQuantityById(productId).orElse(0);
+            // Unflushed deltas still apply on top of the new base, and in-flight reservations stay held
+            // A retired counter is already gone; its replacement loads the new base itself
+            counter.tryUpdate(state -> new StockState(stock + state.pending - state.reserved, state.reserved, state.pending));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private StockCounter counterFor(Long productId) {
+        StockCounter counter = counters.get(productId);
+        if (counter == null) {
+            Integer stock = productRepository.findStockQuantityById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+            StockCounter loaded = new StockCounter(stock);
+            StockCounter existing = counters.putIfAbsent(productId, loaded);
+            counter = existing != null ? existing : loaded;
+        }
+        counter.lastAccess = System.currentTimeMillis();
+        return counter;
+    }
+
+    private void apply(Long productId, StockCounter counter, UnaryOperator<StockState> transition) {
+        // The counter may have been retired since it was looked up; its replacement reloads the flushed stock
+        while (!counter.tryUpdate(transition)) {
+            counter = counterFor(productId);
+        }
+    }
+
+    private void afterTransaction(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                } else {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+
+    // Available stock, stock held by open transactions, and committed deltas not yet written back;
+    // kept in one immutable snapshot so every transition between them is a single CAS
+    private static class StockState {
+        private static final StockState RETIRED = new StockState(0, 0, 0);
+
+        private final long available;
+        private final long reserved;
+        private final long pending;
+
+        StockState(long available, long reserved, long pending) {
+            this.available = available;
+            this.reserved = reserved;
+            this.pending = pending;
+        }
+    }
+
+    private enum Take { TAKEN, SHORT, RETIRED }
+
+    private static class StockCounter {
+        private final AtomicReference<StockState> state;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        StockCounter(long available) {
+            this.state = new AtomicReference<>(new StockState(available, 0, 0));
+        }
+
+        Take tryTake(int quantity) {
+            StockState current;
+            do {
+                current = state.get();
+                if (current == StockState.RETIRED) {
+                    return Take.RETIRED;
+                }
+                if (current.available < quantity) {
+                    return Take.SHORT;
+                }
+            } while (!state.compareAndSet(current,
+                new StockState(current.available - quantity, current.reserved + quantity, current.pending)));
+            return Take.TAKEN;
+        }
+
+        boolean retireIfIdle() {
+            StockState current = state.get();
+            return current.reserved == 0 && current.pending == 0 && state.compareAndSet(current, StockState.RETIRED);
+        }
+
+        boolean tryUpdate(UnaryOperator<StockState> transition) {
+            StockState current;
+            do {
+                current = state.get();
+                if (current == StockState.RETIRED) {
+                    return false;
+                }
+            } while (!state.compareAndSet(current, transition.apply(current)));
+            return true;
+        }
+
+        long drainPending() {
+            return state.getAndUpdate(current -> new StockState(current.available, current.reserved, 0)).pending;
+        }
+
+        void update(UnaryOperator<StockState> transition) {
+            state.updateAndGet(transition);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.orderlee.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderlee.exception.BadRequestException;
+import com.orderlee.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process pub/sub from the notification service to open SSE streams, keyed by business.
+ * Streams are servlet async requests, so an idle subscriber holds a socket and an emitter but no
+ * thread. Events are serialized once and fanned out on a single sender thread.
+ */
+@Component
+public class NotificationBroadcaster {
+    
+    private static final Logger log = LoggerFactory.getLogger(NotificationBroadcaster.class);
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${orderlee.notifications.stream.timeout-ms:1800000}")
+    private long streamTimeoutMs;
+    
+    @Value("${orderlee.notifications.stream.max-connections:20000}")
+    private int maxConnections;
+    
+    private final ConcurrentHashMap<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private ExecutorService sender;
+    
+    @PostConstruct
+    public void start() {
+        sender = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+    }
+    
+    public SseEmitter subscribe(Long businessId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new BadRequestException("Too many open notification streams, please retry later");
+        }
+        
+        // Clients reconnect on timeout; EventSource does this on its own
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        subscribers.compute(businessId, (id, emitters) -> {
+            Set<SseEmitter> current = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            current.add(emitter);
+            return current;
+        });
+        Runnable unsubscribe = () -> unsubscribe(businessId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+    
+    public void publishAfterCommit(Long businessId, String eventName, Object data) {
+        TransactionHooks.afterCommit(() -> publish(businessId, eventName, data));
+    }
+    
+    public boolean hasSubscribers(Long businessId) {
+        return subscribers.containsKey(businessId);
+    }
+    
+    public int getConnectionCount() {
+        return connections.get();
+    }
+    
+    // Keeps proxies from closing idle streams and flushes out clients that went away silently
+    @Scheduled(fixedDelayString = "${orderlee.notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (connections.get() == 0) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        sender.execute(() -> subscribers.forEach((businessId, emitters) -> deliver(businessId, emitters, ping)));
+    }
+    
+    public void publish(Long businessId, String eventName, Object data) {
+        Set<SseEmitter> emitters = subscribers.get(businessId);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize {} event for business {}", eventName, businessId, e);
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> event = SseEmitter.event()
+            .name(eventName)
+            .data(json, MediaType.APPLICATION_JSON)
+            .build();
+        sender.execute(() -> deliver(businessId, emitters, event));
+    }
+    
+    private void deliver(Long businessId, Set<SseEmitter> emitters, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(businessId, emitter);
+            }
+        }
+    }
+    
+    private void unsubscribe(Long businessId, SseEmitter emitter) {
+        // Add and remove both run inside compute, so an emptied set is never dropped under a new subscriber
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(businessId, (id, emitters) -> {
+            removed[0] = emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        if (removed[0]) {
+            connections.decrementAndGet();
+        }
+    }
+}
\ No newline at end of file
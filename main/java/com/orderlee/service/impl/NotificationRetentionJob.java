@@ -0,0 +1,89 @@
+package com.orderlee.service.impl;
+
+import com.orderlee.model.Notification;
+import com.orderlee.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves read notifications older than the retention window out of the live table, either into
+ * notifications_archive or straight to deletion. Work is done in small chunks, each in its own
+ * transaction, so a large backlog never holds long locks or a long-running transaction.
+ */
+@Component
+public class NotificationRetentionJob {
+    
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionJob.class);
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${orderlee.notifications.retention.read-days:90}")
+    private long retentionDays;
+    
+    @Value("${orderlee.notifications.retention.archive:true}")
+    private boolean archive;
+    
+    @Value("${orderlee.notifications.retention.chunk-size:1000}")
+    private int chunkSize;
+    
+    @Value("${orderlee.notifications.retention.max-chunks-per-run:100}")
+    private int maxChunksPerRun;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Scheduled(fixedDelayString = "${orderlee.notifications.retention.interval-ms:3600000}",
+               initialDelayString = "${orderlee.notifications.retention.initial-delay-ms:300000}")
+    public void run() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long moved = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer count = transactionTemplate.execute(status -> moveChunk(cutoff));
+            if (count == null || count == 0) {
+                break;
+            }
+            moved += count;
+        }
+        
+        if (moved > 0) {
+            log.info("{} {} read notifications older than {} days", archive ? "Archived" : "Deleted", moved, retentionDays);
+        }
+    }
+    
+    private int moveChunk(LocalDateTime cutoff) {
+        List<Notification> expired = notificationRepository.findReadBeforeForUpdate(cutoff, PageRequest.of(0, chunkSize));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        
+        List<Long> ids = new ArrayList<>(expired.size());
+        for (Notification notification : expired) {
+            ids.add(notification.getId());
+        }
+        if (archive) {
+            notificationRepository.archiveByIds(ids, LocalDateTime.now());
+        }
+        // Only read rows are moved, so the cached unread counters are unaffected
+        return notificationRepository.deleteByIds(ids);
+    }
+}
\ No newline at end of file
@@ -1,20 +1,36 @@
 package com.orderlee.service.impl;
 
+import com.orderlee.dto.response.CursorPage;
+import com.orderlee.dto.response.NotificationResponse;
 import com.orderlee.exception.ResourceNotFoundException;
 import com.orderlee.exception.BadRequestException;
 import com.orderlee.model.Business;
 import com.orderlee.model.Notification;
 import com.orderlee.repository.NotificationRepository;
+import com.orderlee.security.JwtTokenProvider;
+import com.orderlee.security.TenantContext;
 import com.orderlee.service.BusinessService;
 import com.orderlee.service.NotificationService;
+import com.orderlee.service.UserService;
+import com.orderlee.util.CursorPaging;
+import com.orderlee.util.PageCursor;
+import com.orderlee.util.TransactionHooks;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
+@Timed("orderlee.service")
 public class NotificationServiceImpl implements NotificationService {
     
     @Autowired
@@ -23,10 +39,36 @@ public class NotificationServiceImpl implements NotificationService {
     @Autowired
     private BusinessService businessService;
     
+    @Autowired
+    private CursorPaging cursorPaging;
+    
+    @Autowired
+    private NotificationBroadcaster broadcaster;
+    
+    @Autowired
+    private UnreadNotificationCounter unreadCounter;
+    
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Value("${orderlee.notifications.collapse-window-minutes:60}")
+    private long collapseWindowMinutes;
+    
     @Override
-    public List<Notification> getNotificationsByBusiness() {
-        Business business = businessService.getCurrentUserBusiness();
-        return notificationRepository.findByBusinessIdOrderByCreatedAtDesc(business.getId());
+    @Transactional(readOnly = true)
+    public CursorPage<Notification> getNotificationsByBusiness(String cursor, Integer size) {
+        Long businessId = businessService.getCurrentBusinessId();
+        int pageSize = cursorPaging.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        
+        List<Notification> notifications = after == null
+            ? notificationRepository.findFirstPageByBusinessId(businessId, cursorPaging.limit(pageSize))
+            : notificationRepository.findNextPageByBusinessId(businessId, after.getCreatedAt(), after.getId(),
+                cursorPaging.limit(pageSize));
+        return cursorPaging.toPage(notifications, pageSize, notification -> new PageCursor(notification.getCreatedAt(), notification.getId()));
     }
     
     @Override
@@ -34,23 +76,32 @@ public class NotificationServiceImpl implements NotificationService {
         Notification notification = notificationRepository.findById(notificationId)
             .orElseThrow(() -> new ResourceNotFoundException("Notification", "id", notificationId));
         
-        Business currentBusiness = businessService.getCurrentUserBusiness();
-        if (!notification.getBusiness().getId().equals(currentBusiness.getId())) {
+        Long currentBusinessId = businessService.getCurrentBusinessId();
+        if (!notification.getBusiness().getId().equals(currentBusinessId)) {
             throw new BadRequestException("You can only update your own notifications");
         }
         
+        boolean wasUnread = !notification.getIsRead();
         notification.setIsRead(true);
         notificationRepository.save(notification);
+        if (wasUnread) {
+            unreadChanged(currentBusinessId, -1);
+        }
     }
     
     @Override
-    public void markAllAsRead() {
-        Business business = businessService.getCurrentUserBusiness();
-        List<Notification> unreadNotifications = notificationRepository
-            .findByBusinessIdAndIsReadOrderByCreatedAtDesc(business.getId(), false);
+    public int markAllAsRead(String upTo) {
+        Long businessId = businessService.getCurrentBusinessId();
+        PageCursor bound = PageCursor.decode(upTo);
         
-        unreadNotifications.forEach(notification -> notification.setIsRead(true));
-        notificationRepository.saveAll(unreadNotifications);
+        // One set-based UPDATE; the cursor of the newest notification the client has seen bounds it
+        int updated = bound == null
+            ? notificationRepository.markAllRead(businessId, LocalDateTime.now())
+            : notificationRepository.markReadUpTo(businessId, bound.getCreatedAt(), bound.getId(), LocalDateTime.now());
+        if (updated > 0) {
+            unreadChanged(businessId, -updated);
+        }
+        return updated;
     }
     
     @Override
@@ -58,27 +109,84 @@ public class NotificationServiceImpl implements NotificationService {
         Notification notification = notificationRepository.findById(notificationId)
             .orElseThrow(() -> new ResourceNotFoundException("Notification", "id", notificationId));
         
-        Business currentBusiness = businessService.getCurrentUserBusiness();
-        if (!notification.getBusiness().getId().equals(currentBusiness.getId())) {
+        Long currentBusinessId = businessService.getCurrentBusinessId();
+        if (!notification.getBusiness().getId().equals(currentBusinessId)) {
             throw new BadRequestException("You can only delete your own notifications");
         }
         
         notificationRepository.delete(notification);
+        if (!notification.getIsRead()) {
+            unreadChanged(currentBusinessId, -1);
+        }
     }
     
     @Override
     public void createNotification(String type, String title, String message, Boolean actionRequired) {
-        Business business = businessService.getCurrentUserBusiness();
+        Business business = businessService.getCurrentBusinessReference();
+        
+        // Fold a repeat into the latest unread notification of the same type; the unread count is unchanged
+        if (collapseWindowMinutes > 0) {
+            LocalDateTime now = LocalDateTime.now();
+            Notification latest = notificationRepository
+                .findFirstByBusinessIdAndTypeAndIsReadFalseAndCreatedAtAfterOrderByCreatedAtDesc(
+                    business.getId(), type, now.minusMinutes(collapseWindowMinutes))
+                .orElse(null);
+            if (latest != null && notificationRepository.collapseInto(latest.getId(), title, message, now) > 0) {
+                notificationRepository.findById(latest.getId()).ifPresent(collapsed -> broadcaster
+                    .publishAfterCommit(business.getId(), "notification", NotificationResponse.from(collapsed)));
+                return;
+            }
+        }
         
         Notification notification = new Notification(type, title, message, business);
         notification.setActionRequired(actionRequired != null ? actionRequired : false);
         
-        notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        broadcaster.publishAfterCommit(business.getId(), "notification", NotificationResponse.from(saved));
+        unreadChanged(business.getId(), 1);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Long getUnreadCount() {
-        Business business = businessService.getCurrentUserBusiness();
-        return notificationRepository.countUnreadByBusinessId(business.getId());
+        Long businessId = businessService.getCurrentBusinessId();
+        return unreadCounter.get(businessId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public String issueStreamTicket() {
+        TenantContext tenant = TenantContext.getCurrent();
+        Long userId = tenant != null ? tenant.getUserId() : userService.getCurrentUser().getId();
+        return tokenProvider.generateStreamTicket(userId);
+    }
+    
+    // No transaction around the stream: a counter that has to be loaded runs its own query and returns
+    // the connection before the emitter is handed back
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SseEmitter openStream() {
+        Long businessId = businessService.getCurrentBusinessId();
+        SseEmitter emitter = broadcaster.subscribe(businessId);
+        
+        // Seed the badge so the client does not need a separate unread-count request on connect
+        try {
+            emitter.send(SseEmitter.event()
+                .name("unread-count")
+                .data(Map.of("unreadCount", unreadCounter.get(businessId))));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+    
+    private void unreadChanged(Long businessId, long delta) {
+        // The counter only moves once the change is durable; open streams then get the new value
+        TransactionHooks.afterCommit(() -> {
+            unreadCounter.adjust(businessId, delta);
+            if (broadcaster.hasSubscribers(businessId)) {
+                broadcaster.publish(businessId, "unread-count", Map.of("unreadCount", unreadCounter.get(businessId)));
+            }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,487 @@
+package com.orderlee.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderlee.dto.request.OrderItemRequest;
+import com.orderlee.dto.request.OrderRequest;
+import com.orderlee.dto.response.OrderImportResult;
+import com.orderlee.exception.BadRequestException;
+import com.orderlee.model.Business;
+import com.orderlee.model.Order;
+import com.orderlee.model.OrderItem;
+import com.orderlee.repository.OrderRepository;
+import com.orderlee.repository.ProductRepository;
+import com.orderlee.service.BusinessService;
+import com.orderlee.service.DashboardService;
+import com.orderlee.service.OrderImportService;
+import com.orderlee.util.CsvReader;
+import com.orderlee.util.LineReader;
+import com.orderlee.util.RecordTooLongException;
+import com.orderlee.util.SnowflakeIdGenerator;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports historical orders from streamed CSV or NDJSON uploads. Rows are parsed and validated one
+ * at a time and inserted in chunks, each chunk in its own transaction, so memory stays flat however
+ * large the upload and a bad row only costs its own order. Imported orders record past sales and
+ * do not reserve stock.
+ */
+@Service
+@Timed("orderlee.service")
+public class OrderImportServiceImpl implements OrderImportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderImportServiceImpl.class);
+    
+    private static final List<String> CSV_REQUIRED_COLUMNS = List.of("customer_name", "customer_phone",
+        "shipping_address", "order_source", "payment_status", "product_id", "quantity", "unit_price");
+    private static final int PRODUCT_LOOKUP_BATCH = 1000;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private BusinessService businessService;
+    
+    @Autowired
+    private DashboardService dashboardService;
+    
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${orderlee.import.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${orderlee.import.max-errors:1000}")
+    private int maxErrors;
+    
+    // Longest CSV record or NDJSON line accepted; longer ones fail that row without being buffered
+    @Value("${orderlee.import.max-record-chars:1048576}")
+    private int maxRecordChars;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Override
+    public OrderImportResult importNdjson(Reader reader) {
+        Import job = new Import(businessService.getCurrentBusinessId());
+        LineReader lines = new LineReader(reader, maxRecordChars);
+        long row = 0;
+        try {
+            while (true) {
+                String line;
+                try {
+                    line = lines.readLine();
+                } catch (RecordTooLongException e) {
+                    row++;
+                    job.result.setRowsRead(job.result.getRowsRead() + 1);
+                    job.fail(row, null, e.getMessage());
+                    continue;
+                }
+                if (line == null) {
+                    break;
+                }
+                row++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                job.result.setRowsRead(job.result.getRowsRead() + 1);
+                try {
+                    accept(job, row, objectMapper.readValue(line, OrderRequest.class));
+                } catch (JsonProcessingException e) {
+                    job.fail(row, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        } catch (IOException e) {
+            job.error(row, null, "Upload interrupted: " + e.getMessage());
+        }
+        return finish(job);
+    }
+    
+    // One CSV record per order item; consecutive records sharing an order_ref form one order
+    @Override
+    public OrderImportResult importCsv(Reader reader) {
+        CsvReader csv = new CsvReader(reader, maxRecordChars);
+        Map<String, Integer> columns;
+        try {
+            columns = readHeader(csv.readRecord());
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read CSV header: " + e.getMessage());
+        }
+        
+        Import job = new Import(businessService.getCurrentBusinessId());
+        CsvOrder current = null;
+        try {
+            while (true) {
+                List<String> record;
+                try {
+                    record = csv.readRecord();
+                } catch (RecordTooLongException e) {
+                    // Its order_ref is unknown, so the order being assembled ends here
+                    complete(job, current);
+                    current = null;
+                    job.result.setRowsRead(job.result.getRowsRead() + 1);
+                    job.fail(csv.getRecordLineNumber(), null, e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                long row = csv.getRecordLineNumber();
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                job.result.setRowsRead(job.result.getRowsRead() + 1);
+                
+                String orderRef = field(record, columns, "order_ref");
+                if (current == null || orderRef == null || !orderRef.equals(current.orderRef)) {
+                    complete(job, current);
+                    current = new CsvOrder(row, orderRef, new OrderRequest());
+                    current.request.setOrderItems(new ArrayList<>());
+                    readOrderFields(current, record, columns);
+                }
+                if (current.error == null) {
+                    current.request.getOrderItems().add(readItem(current, record, columns));
+                }
+            }
+        } catch (IOException e) {
+            job.error(csv.getRecordLineNumber(), null, "Upload interrupted: " + e.getMessage());
+            current = null;
+        }
+        complete(job, current);
+        return finish(job);
+    }
+    
+    private Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new BadRequestException("CSV upload is empty");
+        }
+        
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        List<String> missing = new ArrayList<>();
+        for (String required : CSV_REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                missing.add(required);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("CSV is missing required columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+    
+    private void readOrderFields(CsvOrder order, List<String> record, Map<String, Integer> columns) {
+        OrderRequest request = order.request;
+        request.setCustomerName(field(record, columns, "customer_name"));
+        request.setCustomerEmail(field(record, columns, "customer_email"));
+        request.setCustomerPhone(field(record, columns, "customer_phone"));
+        request.setShippingAddress(field(record, columns, "shipping_address"));
+        request.setOrderSource(field(record, columns, "order_source"));
+        request.setNotes(field(record, columns, "notes"));
+        
+        String paymentStatus = field(record, columns, "payment_status");
+        if (paymentStatus != null) {
+            try {
+                request.setPaymentStatus(Order.PaymentStatus.valueOf(paymentStatus.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                order.error = new OrderImportResult.RowError(order.row, "paymentStatus", "Unknown payment status: " + paymentStatus);
+            }
+        }
+    }
+    
+    private OrderItemRequest readItem(CsvOrder order, List<String> record, Map<String, Integer> columns) {
+        OrderItemRequest item = new OrderItemRequest();
+        String column = "product_id";
+        try {
+            String productId = field(record, columns, column);
+            item.setProductId(productId == null ? null : Long.valueOf(productId));
+            column = "quantity";
+            String quantity = field(record, columns, column);
+            item.setQuantity(quantity == null ? null : Integer.valueOf(quantity));
+            column = "unit_price";
+            String unitPrice = field(record, columns, column);
+            item.setUnitPrice(unitPrice == null ? null : new BigDecimal(unitPrice));
+        } catch (NumberFormatException e) {
+            order.error = new OrderImportResult.RowError(order.row, column, "Not a number: " + field(record, columns, column));
+        }
+        return item;
+    }
+    
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+    
+    private void complete(Import job, CsvOrder order) {
+        if (order == null) {
+            return;
+        }
+        if (order.error != null) {
+            job.fail(order.error.getRow(), order.error.getField(), order.error.getMessage());
+            return;
+        }
+        accept(job, order.row, order.request);
+    }
+    
+    private void accept(Import job, long row, OrderRequest request) {
+        if (!isValid(job, row, request)) {
+            return;
+        }
+        job.pending.add(new PendingOrder(row, request));
+        if (job.pending.size() >= chunkSize) {
+            flush(job);
+        }
+    }
+    
+    // Same rules as POST /api/orders, with each item checked against OrderItemRequest as well
+    private boolean isValid(Import job, long row, OrderRequest request) {
+        List<OrderImportResult.RowError> problems = new ArrayList<>();
+        for (ConstraintViolation<OrderRequest> violation : validator.validate(request)) {
+            problems.add(new OrderImportResult.RowError(row, violation.getPropertyPath().toString(), violation.getMessage()));
+        }
+        if (request.getOrderItems() != null) {
+            for (int i = 0; i < request.getOrderItems().size(); i++) {
+                OrderItemRequest item = request.getOrderItems().get(i);
+                if (item == null) {
+                    problems.add(new OrderImportResult.RowError(row, "orderItems[" + i + "]", "must not be null"));
+                    continue;
+                }
+                for (ConstraintViolation<OrderItemRequest> violation : validator.validate(item)) {
+                    problems.add(new OrderImportResult.RowError(row,
+                        "orderItems[" + i + "]." + violation.getPropertyPath(), violation.getMessage()));
+                }
+            }
+        }
+        
+        if (problems.isEmpty()) {
+            return true;
+        }
+        job.result.setOrdersFailed(job.result.getOrdersFailed() + 1);
+        for (OrderImportResult.RowError problem : problems) {
+            job.error(problem.getRow(), problem.getField(), problem.getMessage());
+        }
+        return false;
+    }
+    
+    private void flush(Import job) {
+        if (job.pending.isEmpty()) {
+            return;
+        }
+        List<PendingOrder> chunk = new ArrayList<>(job.pending);
+        job.pending.clear();
+        job.result.setChunks(job.result.getChunks() + 1);
+        
+        resolveProducts(job, chunk);
+        List<PendingOrder> insertable = new ArrayList<>(chunk.size());
+        for (PendingOrder order : chunk) {
+            Long unknown = null;
+            for (OrderItemRequest item : order.request.getOrderItems()) {
+                if (!job.ownedProducts.contains(item.getProductId())) {
+                    unknown = item.getProductId();
+                    break;
+                }
+            }
+            if (unknown != null) {
+                job.fail(order.row, "productId", "Product not found: " + unknown);
+            } else {
+                insertable.add(order);
+            }
+        }
+        if (insertable.isEmpty()) {
+            return;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(insertable));
+            job.imported(insertable);
+        } catch (RuntimeException e) {
+            // One bad row rolls back the whole chunk; retry its rows one by one to isolate it
+            log.debug("Import chunk of {} orders failed, retrying row by row", insertable.size(), e);
+            for (PendingOrder order : insertable) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(order)));
+                    job.imported(List.of(order));
+                } catch (RuntimeException rowFailure) {
+                    job.fail(order.row, null, NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+    }
+    
+    // Checks ownership of each product id once per import, a batch of ids per query
+    private void resolveProducts(Import job, List<PendingOrder> chunk) {
+        Set<Long> unchecked = new HashSet<>();
+        for (PendingOrder order : chunk) {
+            for (OrderItemRequest item : order.request.getOrderItems()) {
+                if (job.checkedProducts.add(item.getProductId())) {
+                    unchecked.add(item.getProductId());
+                }
+            }
+        }
+        
+        List<Long> ids = new ArrayList<>(unchecked);
+        for (int from = 0; from < ids.size(); from += PRODUCT_LOOKUP_BATCH) {
+            List<Long> batch = ids.subList(from, Math.min(from + PRODUCT_LOOKUP_BATCH, ids.size()));
+            job.ownedProducts.addAll(productRepository.findIdsByBusinessIdAndIdIn(job.businessId, batch));
+        }
+    }
+    
+    private void insert(List<PendingOrder> orders) {
+        Business business = businessService.getCurrentBusinessReference();
+        List<Order> entities = new ArrayList<>(orders.size());
+        for (PendingOrder pending : orders) {
+            OrderRequest request = pending.request;
+            Order order = new Order();
+            order.setOrderNumber(idGenerator.nextId("ORD-"));
+            order.setCustomerName(request.getCustomerName());
+            order.setCustomerEmail(request.getCustomerEmail());
+            order.setCustomerPhone(request.getCustomerPhone());
+            order.setShippingAddress(request.getShippingAddress());
+            order.setOrderSource(request.getOrderSource());
+            order.setNotes(request.getNotes());
+            order.setPaymentStatus(request.getPaymentStatus());
+            order.setBusiness(business);
+            
+            BigDecimal subtotal = BigDecimal.ZERO;
+            for (OrderItemRequest itemRequest : request.getOrderItems()) {
+                OrderItem orderItem = new OrderItem();
+                // Ownership was checked in resolveProducts, so a reference is enough for the foreign key
+                orderItem.setProduct(productRepository.getReferenceById(itemRequest.getProductId()));
+                orderItem.setQuantity(itemRequest.getQuantity());
+                orderItem.setUnitPrice(itemRequest.getUnitPrice());
+                orderItem.setTotalPrice(itemRequest.getUnitPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
+                orderItem.setOrder(order);
+                
+                order.getOrderItems().add(orderItem);
+                subtotal = subtotal.add(orderItem.getTotalPrice());
+            }
+            OrderServiceImpl.applyTotals(order, subtotal);
+            entities.add(order);
+        }
+        orderRepository.saveAll(entities);
+        // Detach the chunk before it commits; a caller that keeps one EntityManager across chunks
+        // would otherwise carry every imported order and dirty-check all of them on each flush
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    private OrderImportResult finish(Import job) {
+        flush(job);
+        if (job.result.getOrdersImported() > 0) {
+            dashboardService.evictStats(job.businessId);
+        }
+        
+        long durationMs = Math.max(1, (System.nanoTime() - job.startedAt) / 1_000_000);
+        job.result.setDurationMs(durationMs);
+        job.result.setOrdersPerSecond(job.result.getOrdersImported() * 1000.0 / durationMs);
+        log.info("Imported {} orders ({} failed) for business {} in {} ms", job.result.getOrdersImported(),
+            job.result.getOrdersFailed(), job.businessId, durationMs);
+        return job.result;
+    }
+    
+    private class Import {
+        private final Long businessId;
+        private final long startedAt = System.nanoTime();
+        private final OrderImportResult result = new OrderImportResult();
+        private final List<PendingOrder> pending = new ArrayList<>();
+        private final Set<Long> checkedProducts = new HashSet<>();
+        private final Set<Long> ownedProducts = new HashSet<>();
+        
+        Import(Long businessId) {
+            this.businessId = businessId;
+        }
+        
+        void fail(long row, String field, String message) {
+            result.setOrdersFailed(result.getOrdersFailed() + 1);
+            error(row, field, message);
+        }
+        
+        void error(long row, String field, String message) {
+            if (result.getErrors().size() < maxErrors) {
+                result.getErrors().add(new OrderImportResult.RowError(row, field, message));
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+        
+        void imported(List<PendingOrder> orders) {
+            for (PendingOrder order : orders) {
+                result.setOrdersImported(result.getOrdersImported() + 1);
+                result.setItemsImported(result.getItemsImported() + order.request.getOrderItems().size());
+            }
+        }
+    }
+    
+    private static class PendingOrder {
+        private final long row;
+        private final OrderRequest request;
+        
+        PendingOrder(long row, OrderRequest request) {
+            this.row = row;
+            this.request = request;
+        }
+    }
+    
+    private static class CsvOrder {
+        private final long row;
+        private final String orderRef;
+        private final OrderRequest request;
+        private OrderImportResult.RowError error;
+        
+        CsvOrder(long row, String orderRef, OrderRequest request) {
+            this.row = row;
+            this.orderRef = orderRef;
+            this.request = request;
+        }
+    }
+}
\ No newline at end of file
@@ -2,41 +2,71 @@ package com.orderlee.service.impl;
 
 import com.orderlee.dto.request.OrderRequest;
 import com.orderlee.dto.request.OrderItemRequest;
+import com.orderlee.dto.response.CursorPage;
+import com.orderlee.dto.response.OrderItemResponse;
+import com.orderlee.dto.response.OrderResponse;
 import com.orderlee.exception.ResourceNotFoundException;
 import com.orderlee.exception.BadRequestException;
 import com.orderlee.model.*;
+import com.orderlee.repository.OrderItemRepository;
 import com.orderlee.repository.OrderRepository;
 import com.orderlee.repository.ProductRepository;
 import com.orderlee.service.BusinessService;
+import com.orderlee.service.DashboardService;
+import com.orderlee.service.InventoryLedger;
 import com.orderlee.service.OrderService;
+import com.orderlee.util.SnowflakeIdGenerator;
+import com.orderlee.util.CursorPaging;
+import com.orderlee.util.PageCursor;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 @Transactional
+@Timed("orderlee.service")
 public class OrderServiceImpl implements OrderService {
     
+    static final BigDecimal TAX_RATE = new BigDecimal("0.075"); // 7.5% VAT
+    
     @Autowired
     private OrderRepository orderRepository;
     
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    
     @Autowired
     private ProductRepository productRepository;
     
     @Autowired
     private BusinessService businessService;
     
+    @Autowired
+    private CursorPaging cursorPaging;
+    
+    @Autowired(required = false)
+    private InventoryLedger inventoryLedger;
+    
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+    
+    @Autowired
+    private DashboardService dashboardService;
+    
     @Override
+    @Timed("orderlee.orders.create")
     public Order createOrder(OrderRequest orderRequest) {
-        Business business = businessService.getCurrentUserBusiness();
+        Business business = businessService.getCurrentBusinessReference();
         
         Order order = new Order();
-        order.setOrderNumber(generateOrderNumber());
+        order.setOrderNumber(idGenerator.nextId("ORD-"));
         order.setCustomerName(orderRequest.getCustomerName());
         order.setCustomerEmail(orderRequest.getCustomerEmail());
         order.setCustomerPhone(orderRequest.getCustomerPhone());
@@ -46,16 +76,26 @@ public class OrderServiceImpl implements OrderService {
         order.setPaymentStatus(orderRequest.getPaymentStatus());
         order.setBusiness(business);
         
+        // Reserve stock first with conditional atomic decrements, in product id order so
+        // concurrent multi-line orders always lock rows in the same sequence
+        Map<Long, Integer> requestedQuantities = new TreeMap<>();
+        for (OrderItemRequest itemRequest : orderRequest.getOrderItems()) {
+            requestedQuantities.merge(itemRequest.getProductId(), itemRequest.getQuantity(), Integer::sum);
+        }
+        for (Map.Entry<Long, Integer> entry : requestedQuantities.entrySet()) {
+            reserveStock(entry.getKey(), entry.getValue());
+        }
+        
+        // Load every referenced product in one query, after the decrements so stock is current
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(requestedQuantities.keySet())) {
+            products.put(product.getId(), product);
+        }
+        
         // Process order items
         BigDecimal subtotal = BigDecimal.ZERO;
         for (OrderItemRequest itemRequest : orderRequest.getOrderItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", itemRequest.getProductId()));
-            
-            // Check stock availability
-            if (product.getStockQuantity() < itemRequest.getQuantity()) {
-                throw new BadRequestException("Insufficient stock for product: " + product.getName());
-            }
+            Product product = products.get(itemRequest.getProductId());
             
             OrderItem orderItem = new OrderItem();
             orderItem.setProduct(product);
@@ -66,21 +106,11 @@ public class OrderServiceImpl implements OrderService {
             
             order.getOrderItems().add(orderItem);
             subtotal = subtotal.add(orderItem.getTotalPrice());
-            
-            // Update product stock
-            product.setStockQuantity(product.getStockQuantity() - itemRequest.getQuantity());
-            productRepository.save(product);
         }
         
-        // Calculate totals
-        BigDecimal taxRate = new BigDecimal("0.075"); // 7.5% VAT
-        BigDecimal taxAmount = subtotal.multiply(taxRate);
-        BigDecimal totalAmount = subtotal.add(taxAmount);
-        
-        order.setSubtotal(subtotal);
-        order.setTaxAmount(taxAmount);
-        order.setTotalAmount(totalAmount);
+        applyTotals(order, subtotal);
         
+        dashboardService.evictStats(business.getId());
         return orderRepository.save(order);
     }
     
@@ -88,8 +118,8 @@ public class OrderServiceImpl implements OrderService {
     public Order updateOrderStatus(Long orderId, Order.OrderStatus status) {
         Order order = getOrderById(orderId);
         
-        Business currentBusiness = businessService.getCurrentUserBusiness();
-        if (!order.getBusiness().getId().equals(currentBusiness.getId())) {
+        Long currentBusinessId = businessService.getCurrentBusinessId();
+        if (!order.getBusiness().getId().equals(currentBusinessId)) {
             throw new BadRequestException("You can only update your own orders");
         }
         
@@ -101,8 +131,8 @@ public class OrderServiceImpl implements OrderService {
     public Order updatePaymentStatus(Long orderId, Order.PaymentStatus status) {
         Order order = getOrderById(orderId);
         
-        Business currentBusiness = businessService.getCurrentUserBusiness();
-        if (!order.getBusiness().getId().equals(currentBusiness.getId())) {
+        Long currentBusinessId = businessService.getCurrentBusinessId();
+        if (!order.getBusiness().getId().equals(currentBusinessId)) {
             throw new BadRequestException("You can only update your own orders");
         }
         
@@ -111,35 +141,81 @@ public class OrderServiceImpl implements OrderService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Order getOrderById(Long orderId) {
         return orderRepository.findById(orderId)
             .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Order getOrderByNumber(String orderNumber) {
         return orderRepository.findByOrderNumber(orderNumber)
             .orElseThrow(() -> new ResourceNotFoundException("Order", "orderNumber", orderNumber));
     }
     
     @Override
-    public List<Order> getOrdersByBusiness() {
-        Business business = businessService.getCurrentUserBusiness();
-        return orderRepository.findByBusinessId(business.getId());
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getOrdersByBusiness(String cursor, Integer size) {
+        Long businessId = businessService.getCurrentBusinessId();
+        int pageSize = cursorPaging.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        
+        List<OrderResponse> orders = after == null
+            ? orderRepository.findFirstPageByBusinessId(businessId, cursorPaging.limit(pageSize))
+            : orderRepository.findNextPageByBusinessId(businessId, after.getCreatedAt(), after.getId(),
+                cursorPaging.limit(pageSize));
+        CursorPage<OrderResponse> page = cursorPaging.toPage(orders, pageSize,
+            order -> new PageCursor(order.getCreatedAt(), order.getId()));
+        attachOrderItems(page.getItems());
+        return page;
     }
     
     @Override
-    public List<Order> getOrdersByStatus(Order.OrderStatus status) {
-        Business business = businessService.getCurrentUserBusiness();
-        return orderRepository.findByBusinessIdAndOrderStatus(business.getId(), status);
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getOrdersByStatus(Order.OrderStatus status, String cursor, Integer size) {
+        Long businessId = businessService.getCurrentBusinessId();
+        int pageSize = cursorPaging.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        
+        List<OrderResponse> orders = after == null
+            ? orderRepository.findFirstPageByBusinessIdAndOrderStatus(businessId, status, cursorPaging.limit(pageSize))
+            : orderRepository.findNextPageByBusinessIdAndOrderStatus(businessId, status, after.getCreatedAt(),
+                after.getId(), cursorPaging.limit(pageSize));
+        CursorPage<OrderResponse> page = cursorPaging.toPage(orders, pageSize,
+            order -> new PageCursor(order.getCreatedAt(), order.getId()));
+        attachOrderItems(page.getItems());
+        return page;
+    }
+    
+    static void applyTotals(Order order, BigDecimal subtotal) {
+        BigDecimal taxAmount = subtotal.multiply(TAX_RATE);
+        order.setSubtotal(subtotal);
+        order.setTaxAmount(taxAmount);
+        order.setTotalAmount(subtotal.add(taxAmount));
+    }
+    
+    private void attachOrderItems(List<OrderResponse> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        
+        // One query for the items of the whole page instead of one lazy load per order
+        Map<Long, OrderResponse> byId = new HashMap<>();
+        for (OrderResponse order : orders) {
+            byId.put(order.getId(), order);
+        }
+        for (OrderItemResponse item : orderItemRepository.findResponsesByOrderIdIn(byId.keySet())) {
+            byId.get(item.getOrderId()).getOrderItems().add(item);
+        }
     }
     
     @Override
     public void cancelOrder(Long orderId) {
         Order order = getOrderById(orderId);
         
-        Business currentBusiness = businessService.getCurrentUserBusiness();
-        if (!order.getBusiness().getId().equals(currentBusiness.getId())) {
+        Long currentBusinessId = businessService.getCurrentBusinessId();
+        if (!order.getBusiness().getId().equals(currentBusinessId)) {
             throw new BadRequestException("You can only cancel your own orders");
         }
         
@@ -148,18 +224,42 @@ public class OrderServiceImpl implements OrderService {
         }
         
         // Restore product stock
+        Map<Long, Integer> releasedQuantities = new TreeMap<>();
         for (OrderItem item : order.getOrderItems()) {
-            Product product = item.getProduct();
-            product.setStockQuantity(product.getStockQuantity() + item.getQuantity());
-            productRepository.save(product);
+            releasedQuantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        for (Map.Entry<Long, Integer> entry : releasedQuantities.entrySet()) {
+            if (inventoryLedger != null) {
+                inventoryLedger.release(entry.getKey(), entry.getValue());
+            } else {
+                productRepository.adjustStock(entry.getKey(), entry.getValue());
+            }
         }
         
         order.setOrderStatus(Order.OrderStatus.CANCELLED);
         orderRepository.save(order);
+        dashboardService.evictStats(currentBusinessId);
+    }
+    
+    private void reserveStock(Long productId, Integer quantity) {
+        // The ledger, when enabled, holds stock in memory and releases it again on rollback
+        if (inventoryLedger != null) {
+            if (!inventoryLedger.tryReserve(productId, quantity)) {
+                throw insufficientStock(productId);
+            }
+            return;
+        }
+        
+        // Zero rows updated means the product is missing or does not have enough stock left;
+        // the surrounding transaction rolls back any reservation already made for this order
+        if (productRepository.decrementStock(productId, quantity) == 0) {
+            throw insufficientStock(productId);
+        }
     }
     
-    private String generateOrderNumber() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        return "ORD-" + timestamp;
+    private BadRequestException insufficientStock(Long productId) {
+        Product product = productRepository.findById(productId)
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        return new BadRequestException("Insufficient stock for product: " + product.getName());
     }
 }
\ No newline at end of file
@@ -1,26 +1,30 @@
 package com.orderlee.service.impl;
 
 import com.orderlee.dto.request.PaymentRequest;
+import com.orderlee.dto.response.CursorPage;
+import com.orderlee.dto.response.PaymentResponse;
 import com.orderlee.exception.ResourceNotFoundException;
 import com.orderlee.exception.BadRequestException;
-import com.orderlee.model.Business;
 import com.orderlee.model.Order;
 import com.orderlee.model.Payment;
 import com.orderlee.repository.OrderRepository;
 import com.orderlee.repository.PaymentRepository;
 import com.orderlee.service.BusinessService;
 import com.orderlee.service.PaymentService;
+import com.orderlee.util.SnowflakeIdGenerator;
+import com.orderlee.util.CursorPaging;
+import com.orderlee.util.PageCursor;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.math.BigDecimal;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 @Transactional
+@Timed("orderlee.service")
 public class PaymentServiceImpl implements PaymentService {
     
     @Autowired
@@ -32,24 +36,31 @@ public class PaymentServiceImpl implements PaymentService {
     @Autowired
     private BusinessService businessService;
     
+    @Autowired
+    private CursorPaging cursorPaging;
+    
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+    
     @Override
+    @Timed("orderlee.payments.process")
     public Payment processPayment(PaymentRequest paymentRequest) {
-        Order order = orderRepository.findById(paymentRequest.getOrderId())
-            .orElseThrow(() -> new ResourceNotFoundException("Order", "id", paymentRequest.getOrderId()));
+        Order order = lockOrder(paymentRequest.getOrderId());
         
-        Business currentBusiness = businessService.getCurrentUserBusiness();
-        if (!order.getBusiness().getId().equals(currentBusiness.getId())) {
+        Long currentBusinessId = businessService.getCurrentBusinessId();
+        if (!order.getBusiness().getId().equals(currentBusinessId)) {
             throw new BadRequestException("You can only process payments for your own orders");
         }
         
         Payment payment = new Payment();
-        payment.setPaymentId(generatePaymentId());
+        payment.setPaymentId(idGenerator.nextId("PAY-"));
         payment.setAmount(paymentRequest.getAmount());
         payment.setPaymentMethod(paymentRequest.getPaymentMethod());
         payment.setTransactionReference(paymentRequest.getTransactionReference());
         payment.setProcessingFee(paymentRequest.getProcessingFee());
         payment.setNotes(paymentRequest.getNotes());
         payment.setOrder(order);
+        payment.setBusiness(order.getBusiness());
         
         // Simulate payment processing
         payment.setPaymentStatus(Payment.PaymentStatus.COMPLETED);
@@ -57,71 +68,138 @@ public class PaymentServiceImpl implements PaymentService {
         Payment savedPayment = paymentRepository.save(payment);
         
         // Update order payment status
-        updateOrderPaymentStatus(order);
+        order.setPaymentsCount(order.getPaymentsCount() + 1);
+        applyStatusChange(order, null, savedPayment.getPaymentStatus(), savedPayment.getAmount());
         
         return savedPayment;
     }
     
     @Override
     public Payment updatePaymentStatus(Long paymentId, Payment.PaymentStatus status) {
+        // Lock the order before reading the payment so its previous status cannot change underneath us
+        Long orderId = paymentRepository.findOrderIdById(paymentId)
+            .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", paymentId));
+        Order order = lockOrder(orderId);
         Payment payment = getPaymentById(paymentId);
         
-        Business currentBusiness = businessService.getCurrentUserBusiness();
-        if (!payment.getOrder().getBusiness().getId().equals(currentBusiness.getId())) {
+        Long currentBusinessId = businessService.getCurrentBusinessId();
+        if (!order.getBusiness().getId().equals(currentBusinessId)) {
             throw new BadRequestException("You can only update your own payments");
         }
         
+        Payment.PaymentStatus previous = payment.getPaymentStatus();
         payment.setPaymentStatus(status);
         Payment savedPayment = paymentRepository.save(payment);
         
         // Update order payment status
-        updateOrderPaymentStatus(payment.getOrder());
+        applyStatusChange(order, previous, status, payment.getAmount());
         
         return savedPayment;
     }
     
     @Override
+    public Payment recordGatewayPayment(Long orderId, String transactionReference, BigDecimal amount,
+                                        Payment.PaymentStatus status) {
+        // Called from webhook processing, which has no tenant; the gateway reference identifies the payment
+        Order order = lockOrder(orderId);
+        Payment payment = paymentRepository.findByOrderIdAndTransactionReference(orderId, transactionReference)
+            .orElse(null);
+        
+        if (payment == null) {
+            payment = new Payment();
+            payment.setPaymentId(idGenerator.nextId("PAY-"));
+            payment.setAmount(amount);
+            payment.setPaymentMethod(Payment.PaymentMethod.CREDIT_CARD);
+            payment.setTransactionReference(transactionReference);
+            payment.setPaymentStatus(status);
+            payment.setOrder(order);
+            payment.setBusiness(order.getBusiness());
+            Payment savedPayment = paymentRepository.save(payment);
+            
+            order.setPaymentsCount(order.getPaymentsCount() + 1);
+            applyStatusChange(order, null, status, amount);
+            return savedPayment;
+        }
+        
+        Payment.PaymentStatus previous = payment.getPaymentStatus();
+        if (previous == status) {
+            return payment;
+        }
+        // Stripe does not order deliveries, so a failure of an earlier attempt can arrive after the success
+        if (previous == Payment.PaymentStatus.COMPLETED && status == Payment.PaymentStatus.FAILED) {
+            return payment;
+        }
+        payment.setPaymentStatus(status);
+        Payment savedPayment = paymentRepository.save(payment);
+        applyStatusChange(order, previous, status, payment.getAmount());
+        return savedPayment;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
     public Payment getPaymentById(Long paymentId) {
         return paymentRepository.findById(paymentId)
             .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", paymentId));
     }
     
     @Override
-    public List<Payment> getPaymentsByOrder(Long orderId) {
-        return paymentRepository.findByOrderId(orderId);
+    @Transactional(readOnly = true)
+    public List<PaymentResponse> getPaymentsByOrder(Long orderId) {
+        return paymentRepository.findResponsesByOrderId(orderId);
     }
     
     @Override
-    public List<Payment> getPaymentsByBusiness() {
-        Business business = businessService.getCurrentUserBusiness();
-        return paymentRepository.findByBusinessId(business.getId());
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentResponse> getPaymentsByBusiness(String cursor, Integer size) {
+        Long businessId = businessService.getCurrentBusinessId();
+        int pageSize = cursorPaging.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        
+        List<PaymentResponse> payments = after == null
+            ? paymentRepository.findFirstPageByBusinessId(businessId, cursorPaging.limit(pageSize))
+            : paymentRepository.findNextPageByBusinessId(businessId, after.getCreatedAt(), after.getId(),
+                cursorPaging.limit(pageSize));
+        return cursorPaging.toPage(payments, pageSize, payment -> new PageCursor(payment.getCreatedAt(), payment.getId()));
     }
     
-    private void updateOrderPaymentStatus(Order order) {
-        List<Payment> payments = paymentRepository.findByOrderId(order.getId());
+    private Order lockOrder(Long orderId) {
+        // Locking the order row serializes payment writes so the running aggregates stay exact
+        Order order = orderRepository.findByIdForUpdate(orderId)
+            .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
         
-        if (payments.isEmpty()) {
+        // Orders created before the aggregate columns existed are initialized once from their payments
+        if (order.getAmountPaid() == null) {
+            Object[] totals = paymentRepository.summarizeByOrderId(orderId).get(0);
+            order.setPaymentsCount(((Number) totals[0]).intValue());
+            order.setCompletedPaymentsCount(((Number) totals[1]).intValue());
+            order.setAmountPaid((BigDecimal) totals[2]);
+        }
+        return order;
+    }
+    
+    private void applyStatusChange(Order order, Payment.PaymentStatus previous,
+                                   Payment.PaymentStatus current, BigDecimal amount) {
+        boolean wasCompleted = previous == Payment.PaymentStatus.COMPLETED;
+        boolean isCompleted = current == Payment.PaymentStatus.COMPLETED;
+        
+        if (!wasCompleted && isCompleted) {
+            order.setCompletedPaymentsCount(order.getCompletedPaymentsCount() + 1);
+            order.setAmountPaid(order.getAmountPaid().add(amount));
+        } else if (wasCompleted && !isCompleted) {
+            order.setCompletedPaymentsCount(order.getCompletedPaymentsCount() - 1);
+            order.setAmountPaid(order.getAmountPaid().subtract(amount));
+        }
+        
+        // Paid in full once completed payments cover the order total, partial while anything is paid
+        BigDecimal amountPaid = order.getAmountPaid();
+        if (amountPaid.signum() <= 0) {
             order.setPaymentStatus(Order.PaymentStatus.PENDING);
+        } else if (order.getTotalAmount() == null || amountPaid.compareTo(order.getTotalAmount()) >= 0) {
+            order.setPaymentStatus(Order.PaymentStatus.PAID);
         } else {
-            boolean hasCompleted = payments.stream()
-                .anyMatch(p -> p.getPaymentStatus() == Payment.PaymentStatus.COMPLETED);
-            boolean allCompleted = payments.stream()
-                .allMatch(p -> p.getPaymentStatus() == Payment.PaymentStatus.COMPLETED);
-            
-            if (allCompleted) {
-                order.setPaymentStatus(Order.PaymentStatus.PAID);
-            } else if (hasCompleted) {
-                order.setPaymentStatus(Order.PaymentStatus.PARTIAL);
-            } else {
-                order.setPaymentStatus(Order.PaymentStatus.PENDING);
-            }
+            order.setPaymentStatus(Order.PaymentStatus.PARTIAL);
         }
         
         orderRepository.save(order);
     }
-    
-    private String generatePaymentId() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        return "PAY-" + timestamp + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,408 @@
+package com.orderlee.service.impl;
+
+import com.orderlee.config.ReplicaRoutingDataSource;
+import com.orderlee.repository.ProductRepository;
+import com.orderlee.service.ProductSearchIndex;
+import com.orderlee.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process trigram index over product name and SKU, one per business. Each business index is
+ * built from the database on its first search and then kept current by the product service after
+ * its transactions commit. Loaded indexes are rebuilt periodically so writes made by other
+ * instances are picked up. Builds read the database outside any map lock, and writes that commit
+ * while a build runs are replayed onto it before it replaces the live index. Indexes that have not
+ * been searched for a while are dropped, and the least recently searched go first when more than
+ * the configured number of businesses are loaded.
+ */
+@Service
+public class ProductSearchIndexImpl implements ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndexImpl.class);
+
+    private static final int GRAM = 3;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${orderlee.search.max-businesses:1000}")
+    private int maxBusinesses;
+
+    @Value("${orderlee.search.idle-evict-ms:3600000}")
+    private long idleEvictMs;
+
+    private final ConcurrentHashMap<Long, LoadedIndex> indexes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Build> builds = new ConcurrentHashMap<>();
+    private TransactionTemplate loadTransaction;
+
+    @PostConstruct
+    public void init() {
+        // A build can start inside a search's read-only transaction, whose connection may already be on the replica
+        loadTransaction = new TransactionTemplate(transactionManager);
+        loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        loadTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public List<Long> search(Long businessId, String searchTerm, int limit) {
+        String term = normalize(searchTerm);
+        if (term.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return indexFor(businessId).search(term, limit);
+    }
+
+    @Override
+    public void index(Long businessId, Long productId, String name, String sku) {
+        TransactionHooks.afterCommit(() -> apply(businessId, index -> index.put(productId, name, sku)));
+    }
+
+    @Override
+    public void remove(Long businessId, Long productId) {
+        TransactionHooks.afterCommit(() -> apply(businessId, index -> index.remove(productId)));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${orderlee.search.refresh-interval-ms:300000}")
+    public void refresh() {
+        long idleSince = System.currentTimeMillis() - idleEvictMs;
+        indexes.values().removeIf(loaded -> loaded.lastSearched < idleSince);
+
+        for (Long businessId : indexes.keySet()) {
+            try {
+                build(businessId, false).join();
+            } catch (RuntimeException e) {
+                log.warn("Search index refresh failed for business {}", businessId, e);
+            }
+        }
+    }
+
+    private BusinessIndex indexFor(Long businessId) {
+        LoadedIndex loaded = indexes.get(businessId);
+        if (loaded != null) {
+            loaded.lastSearched = System.currentTimeMillis();
+            return loaded.index;
+        }
+
+        try {
+            return build(businessId, true).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    // Concurrent callers for the same business share one build. A refresh only replaces an index
+    // that is still loaded, so one evicted meanwhile is not brought back.
+    private CompletableFuture<BusinessIndex> build(Long businessId, boolean initial) {
+        Build build = new Build();
+        Build running = builds.putIfAbsent(businessId, build);
+        if (running != null) {
+            return running.result;
+        }
+
+        try {
+            BusinessIndex index = load(businessId);
+            build.install(index, () -> {
+                if (initial) {
+                    indexes.put(businessId, new LoadedIndex(index, System.currentTimeMillis()));
+                } else {
+                    indexes.computeIfPresent(businessId, (id, previous) -> new LoadedIndex(index, previous.lastSearched));
+                }
+            });
+            build.result.complete(index);
+        } catch (RuntimeException e) {
+            build.result.completeExceptionally(e);
+        } finally {
+            builds.remove(businessId, build);
+        }
+
+        if (initial) {
+            trimToCapacity();
+        }
+        return build.result;
+    }
+
+    private void apply(Long businessId, Consumer<BusinessIndex> update) {
+        // Checked before the live index, so an update is never missed by both
+        Build build = builds.get(businessId);
+        if (build != null) {
+            build.record(update);
+        }
+        LoadedIndex loaded = indexes.get(businessId);
+        if (loaded != null) {
+            update.accept(loaded.index);
+        }
+    }
+
+    private void trimToCapacity() {
+        int excess = indexes.size() - maxBusinesses;
+        if (excess <= 0) {
+            return;
+        }
+
+        List<Map.Entry<Long, LoadedIndex>> loaded = new ArrayList<>(indexes.entrySet());
+        loaded.sort(Comparator.comparingLong(entry -> entry.getValue().lastSearched));
+        for (int i = 0; i < excess && i < loaded.size(); i++) {
+            indexes.remove(loaded.get(i).getKey(), loaded.get(i).getValue());
+        }
+    }
+
+    // Read from the primary: an index built from a lagging replica would miss products until the next refresh
+    private BusinessIndex load(Long businessId) {
+        List<Object[]> rows = ReplicaRoutingDataSource.onPrimary(
+            () -> loadTransaction.execute(status -> productRepository.findSearchFieldsByBusinessId(businessId)));
+        BusinessIndex index = new BusinessIndex();
+        for (Object[] row : rows) {
+            index.put((Long) row[0], (String) row[1], (String) row[2]);
+        }
+        return index;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static class LoadedIndex {
+        private final BusinessIndex index;
+        private volatile long lastSearched;
+
+        LoadedIndex(BusinessIndex index, long lastSearched) {
+            this.index = index;
+            this.lastSearched = lastSearched;
+        }
+    }
+
+    private static class Build {
+        private final CompletableFuture<BusinessIndex> result = new CompletableFuture<>();
+        // Updates that committed while the database was being read; puts and removes are idempotent
+        private final List<Consumer<BusinessIndex>> committed = new ArrayList<>();
+        private boolean installed;
+
+        synchronized void record(Consumer<BusinessIndex> update) {
+            if (!installed) {
+                committed.add(update);
+            }
+        }
+
+        synchronized void install(BusinessIndex index, Runnable swap) {
+            for (Consumer<BusinessIndex> update : committed) {
+                update.accept(index);
+            }
+            swap.run();
+            installed = true;
+        }
+    }
+
+    private static class Document {
+        private final Long id;
+        private final String name;
+        private final String sku;
+
+        Document(Long id, String name, String sku) {
+            this.id = id;
+            this.name = name;
+            this.sku = sku;
+        }
+
+        // Lower is better; -1 means the term does not occur at all
+        int rank(String term) {
+            if (sku.equals(term) || name.equals(term)) {
+                return 0;
+            }
+            if (sku.startsWith(term) || name.startsWith(term)) {
+                return 1;
+            }
+            int at = name.indexOf(term);
+            if (at > 0 && !Character.isLetterOrDigit(name.charAt(at - 1))) {
+                return 2;
+            }
+            if (at >= 0 || sku.contains(term)) {
+                return 3;
+            }
+            return -1;
+        }
+    }
+
+    private static class Match {
+        private final Document document;
+        private final int rank;
+
+        Match(Document document, int rank) {
+            this.document = document;
+            this.rank = rank;
+        }
+    }
+
+    private static class BusinessIndex {
+        private static final Comparator<Match> ORDER = Comparator
+            .<Match>comparingInt(match -> match.rank)
+            .thenComparingInt(match -> match.document.name.length())
+            .thenComparing(match -> match.document.id);
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        // Ordinals only grow; an update tombstones the old ordinal and appends a new document
+        private final List<Document> documents = new ArrayList<>();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final Map<String, Postings> postings = new HashMap<>();
+        private int tombstones;
+
+        void put(Long productId, String name, String sku) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(productId);
+                append(new Document(productId, normalize(name), normalize(sku)));
+                if (tombstones > documents.size() / 2) {
+                    compact();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long productId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(productId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Long> search(String term, int limit) {
+            lock.readLock().lock();
+            try {
+                List<Match> matches = new ArrayList<>();
+                if (term.length() < GRAM) {
+                    // Too short for a trigram; the in-memory scan is still far cheaper than a table scan
+                    for (Document document : documents) {
+                        collect(document, term, matches);
+                    }
+                } else {
+                    Postings candidates = rarest(term);
+                    if (candidates != null) {
+                        for (int i = 0; i < candidates.size; i++) {
+                            collect(documents.get(candidates.ordinals[i]), term, matches);
+                        }
+                    }
+                }
+
+                matches.sort(ORDER);
+                List<Long> ids = new ArrayList<>(Math.min(limit, matches.size()));
+                for (int i = 0; i < matches.size() && i < limit; i++) {
+                    ids.add(matches.get(i).document.id);
+                }
+                return ids;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Postings rarest(String term) {
+            Postings rarest = null;
+            for (String gram : grams(term)) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return null;
+                }
+                if (rarest == null || list.size < rarest.size) {
+                    rarest = list;
+                }
+            }
+            return rarest;
+        }
+
+        private void collect(Document document, String term, List<Match> matches) {
+            if (document == null) {
+                return;
+            }
+            int rank = document.rank(term);
+            if (rank >= 0) {
+                matches.add(new Match(document, rank));
+            }
+        }
+
+        private void removeLocked(Long productId) {
+            Integer ordinal = ordinals.remove(productId);
+            if (ordinal != null) {
+                // Posting entries for a tombstone are skipped at query time and dropped on compaction
+                documents.set(ordinal, null);
+                tombstones++;
+            }
+        }
+
+        private void compact() {
+            List<Document> live = new ArrayList<>(ordinals.size());
+            for (Document document : documents) {
+                if (document != null) {
+                    live.add(document);
+                }
+            }
+            documents.clear();
+            ordinals.clear();
+            postings.clear();
+            tombstones = 0;
+            for (Document document : live) {
+                append(document);
+            }
+        }
+
+        private void append(Document document) {
+            int ordinal = documents.size();
+            documents.add(document);
+            ordinals.put(document.id, ordinal);
+
+            Set<String> grams = grams(document.name);
+            grams.addAll(grams(document.sku));
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(ordinal);
+            }
+        }
+    }
+
+    private static class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+}
\ No newline at end of file
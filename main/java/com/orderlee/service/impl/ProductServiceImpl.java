@@ -1,21 +1,34 @@
 package com.orderlee.service.impl;
 
 import com.orderlee.dto.request.ProductRequest;
+import com.orderlee.dto.response.CursorPage;
+import com.orderlee.dto.response.SearchResults;
 import com.orderlee.exception.ResourceNotFoundException;
 import com.orderlee.exception.BadRequestException;
 import com.orderlee.model.Business;
 import com.orderlee.model.Product;
 import com.orderlee.repository.ProductRepository;
 import com.orderlee.service.BusinessService;
+import com.orderlee.service.DashboardService;
+import com.orderlee.service.InventoryLedger;
+import com.orderlee.service.ProductSearchIndex;
 import com.orderlee.service.ProductService;
+import com.orderlee.util.CursorPaging;
+import com.orderlee.util.PageCursor;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
+@Timed("orderlee.service")
 public class ProductServiceImpl implements ProductService {
     
     @Autowired
@@ -24,9 +37,24 @@ public class ProductServiceImpl implements ProductService {
     @Autowired
     private BusinessService businessService;
     
+    @Autowired
+    private CursorPaging cursorPaging;
+    
+    @Autowired(required = false)
+    private InventoryLedger inventoryLedger;
+    
+    @Autowired
+    private DashboardService dashboardService;
+    
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+    
+    @Value("${orderlee.search.max-results:50}")
+    private int maxSearchResults;
+    
     @Override
     public Product createProduct(ProductRequest productRequest) {
-        Business business = businessService.getCurrentUserBusiness();
+        Business business = businessService.getCurrentBusinessReference();
         
         // Check if SKU already exists for this business
         if (productRequest.getSku() != null && 
@@ -38,57 +66,100 @@ public class ProductServiceImpl implements ProductService {
         mapRequestToProduct(productRequest, product);
         product.setBusiness(business);
         
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productSearchIndex.index(business.getId(), saved.getId(), saved.getName(), saved.getSku());
+        dashboardService.evictStats(business.getId());
+        return saved;
     }
     
     @Override
     public Product updateProduct(Long productId, ProductRequest productRequest) {
         Product product = getProductById(productId);
         
-        Business currentBusiness = businessService.getCurrentUserBusiness();
-        if (!product.getBusiness().getId().equals(currentBusiness.getId())) {
+        Long currentBusinessId = businessService.getCurrentBusinessId();
+        if (!product.getBusiness().getId().equals(currentBusinessId)) {
             throw new BadRequestException("You can only update your own products");
         }
         
         mapRequestToProduct(productRequest, product);
+        if (inventoryLedger != null) {
+            inventoryLedger.evict(productId);
+        }
         
+        productSearchIndex.index(currentBusinessId, productId, product.getName(), product.getSku());
+        dashboardService.evictStats(currentBusinessId);
         return productRepository.save(product);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Product getProductById(Long productId) {
         return productRepository.findById(productId)
             .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
     }
     
     @Override
-    public List<Product> getProductsByBusiness() {
-        Business business = businessService.getCurrentUserBusiness();
-        return productRepository.findByBusinessId(business.getId());
+    @Transactional(readOnly = true)
+    public CursorPage<Product> getProductsByBusiness(String cursor, Integer size) {
+        Long businessId = businessService.getCurrentBusinessId();
+        int pageSize = cursorPaging.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        
+        List<Product> products = after == null
+            ? productRepository.findFirstPageByBusinessId(businessId, cursorPaging.limit(pageSize))
+            : productRepository.findNextPageByBusinessId(businessId, after.getCreatedAt(), after.getId(),
+                cursorPaging.limit(pageSize));
+        return cursorPaging.toPage(products, pageSize, product -> new PageCursor(product.getCreatedAt(), product.getId()));
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<Product> getLowStockProducts() {
-        Business business = businessService.getCurrentUserBusiness();
-        return productRepository.findLowStockProducts(business.getId());
+        Long businessId = businessService.getCurrentBusinessId();
+        return productRepository.findLowStockProducts(businessId);
     }
     
     @Override
     public void deleteProduct(Long productId) {
         Product product = getProductById(productId);
         
-        Business currentBusiness = businessService.getCurrentUserBusiness();
-        if (!product.getBusiness().getId().equals(currentBusiness.getId())) {
+        Long currentBusinessId = businessService.getCurrentBusinessId();
+        if (!product.getBusiness().getId().equals(currentBusinessId)) {
             throw new BadRequestException("You can only delete your own products");
         }
         
         productRepository.delete(product);
+        if (inventoryLedger != null) {
+            inventoryLedger.evict(productId);
+        }
+        productSearchIndex.remove(currentBusinessId, productId);
+        dashboardService.evictStats(currentBusinessId);
     }
     
     @Override
-    public List<Product> searchProducts(String searchTerm) {
-        Business business = businessService.getCurrentUserBusiness();
-        return productRepository.searchProducts(business.getId(), searchTerm);
+    @Transactional(readOnly = true)
+    public SearchResults<Product> searchProducts(String searchTerm) {
+        Long businessId = businessService.getCurrentBusinessId();
+        // One extra match tells the client the list was cut off at the limit
+        List<Long> ids = productSearchIndex.search(businessId, searchTerm, maxSearchResults + 1);
+        boolean truncated = ids.size() > maxSearchResults;
+        if (truncated) {
+            ids = ids.subList(0, maxSearchResults);
+        }
+        
+        // findAllById does not keep the ranking, so put the rows back in index order
+        Map<Long, Product> byId = new HashMap<>();
+        for (Product product : productRepository.findAllById(ids)) {
+            byId.put(product.getId(), product);
+        }
+        List<Product> products = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Product product = byId.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return new SearchResults<>(products, truncated, maxSearchResults);
     }
     
     private void mapRequestToProduct(ProductRequest request, Product product) {
@@ -1,25 +1,32 @@
 package com.orderlee.service.impl;
 
 import com.orderlee.dto.request.ShipmentRequest;
+import com.orderlee.dto.response.CursorPage;
+import com.orderlee.dto.response.ShipmentResponse;
 import com.orderlee.exception.ResourceNotFoundException;
 import com.orderlee.exception.BadRequestException;
-import com.orderlee.model.Business;
 import com.orderlee.model.Order;
 import com.orderlee.model.Shipment;
 import com.orderlee.repository.OrderRepository;
 import com.orderlee.repository.ShipmentRepository;
 import com.orderlee.service.BusinessService;
 import com.orderlee.service.ShipmentService;
+import com.orderlee.util.SnowflakeIdGenerator;
+import com.orderlee.util.CursorPaging;
+import com.orderlee.util.PageCursor;
+import com.orderlee.util.TransactionHooks;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @Service
 @Transactional
+@Timed("orderlee.service")
 public class ShipmentServiceImpl implements ShipmentService {
     
     @Autowired
@@ -31,13 +38,23 @@ public class ShipmentServiceImpl implements ShipmentService {
     @Autowired
     private BusinessService businessService;
     
+    @Autowired
+    private CursorPaging cursorPaging;
+    
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+    
+    @Autowired
+    private TrackingLookupCache trackingLookupCache;
+    
     @Override
+    @Timed("orderlee.shipments.create")
     public Shipment createShipment(ShipmentRequest shipmentRequest) {
         Order order = orderRepository.findById(shipmentRequest.getOrderId())
             .orElseThrow(() -> new ResourceNotFoundException("Order", "id", shipmentRequest.getOrderId()));
         
-        Business currentBusiness = businessService.getCurrentUserBusiness();
-        if (!order.getBusiness().getId().equals(currentBusiness.getId())) {
+        Long currentBusinessId = businessService.getCurrentBusinessId();
+        if (!order.getBusiness().getId().equals(currentBusinessId)) {
             throw new BadRequestException("You can only create shipments for your own orders");
         }
         
@@ -50,20 +67,23 @@ public class ShipmentServiceImpl implements ShipmentService {
         shipment.setTrackingNumber(generateTrackingNumber(shipmentRequest.getCarrierName()));
         mapRequestToShipment(shipmentRequest, shipment);
         shipment.setOrder(order);
+        shipment.setBusiness(order.getBusiness());
         
         // Update order status
         order.setOrderStatus(Order.OrderStatus.READY_TO_SHIP);
         orderRepository.save(order);
         
-        return shipmentRepository.save(shipment);
+        Shipment saved = shipmentRepository.save(shipment);
+        TransactionHooks.afterCommit(() -> trackingLookupCache.issued(saved.getTrackingNumber()));
+        return saved;
     }
     
     @Override
     public Shipment updateShipmentStatus(Long shipmentId, Shipment.ShipmentStatus status) {
         Shipment shipment = getShipmentById(shipmentId);
         
-        Business currentBusiness = businessService.getCurrentUserBusiness();
-        if (!shipment.getOrder().getBusiness().getId().equals(currentBusiness.getId())) {
+        Long currentBusinessId = businessService.getCurrentBusinessId();
+        if (!shipment.getOrder().getBusiness().getId().equals(currentBusinessId)) {
             throw new BadRequestException("You can only update your own shipments");
         }
         
@@ -85,31 +105,51 @@ public class ShipmentServiceImpl implements ShipmentService {
         }
         
         orderRepository.save(order);
+        TransactionHooks.afterCommit(() -> trackingLookupCache.evict(shipment.getTrackingNumber()));
         return shipmentRepository.save(shipment);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Shipment getShipmentById(Long shipmentId) {
         return shipmentRepository.findById(shipmentId)
             .orElseThrow(() -> new ResourceNotFoundException("Shipment", "id", shipmentId));
     }
     
+    // Public and unauthenticated; no transaction so cache hits never touch a connection
     @Override
-    public Shipment getShipmentByTrackingNumber(String trackingNumber) {
-        return shipmentRepository.findByTrackingNumber(trackingNumber)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ShipmentResponse getShipmentByTrackingNumber(String trackingNumber) {
+        return trackingLookupCache.find(trackingNumber)
             .orElseThrow(() -> new ResourceNotFoundException("Shipment", "trackingNumber", trackingNumber));
     }
     
     @Override
-    public List<Shipment> getShipmentsByBusiness() {
-        Business business = businessService.getCurrentUserBusiness();
-        return shipmentRepository.findByBusinessId(business.getId());
+    @Transactional(readOnly = true)
+    public CursorPage<ShipmentResponse> getShipmentsByBusiness(String cursor, Integer size) {
+        Long businessId = businessService.getCurrentBusinessId();
+        int pageSize = cursorPaging.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        
+        List<ShipmentResponse> shipments = after == null
+            ? shipmentRepository.findFirstPageByBusinessId(businessId, cursorPaging.limit(pageSize))
+            : shipmentRepository.findNextPageByBusinessId(businessId, after.getCreatedAt(), after.getId(),
+                cursorPaging.limit(pageSize));
+        return cursorPaging.toPage(shipments, pageSize, shipment -> new PageCursor(shipment.getCreatedAt(), shipment.getId()));
     }
     
     @Override
-    public List<Shipment> getShipmentsByStatus(Shipment.ShipmentStatus status) {
-        Business business = businessService.getCurrentUserBusiness();
-        return shipmentRepository.findByBusinessIdAndStatus(business.getId(), status);
+    @Transactional(readOnly = true)
+    public CursorPage<ShipmentResponse> getShipmentsByStatus(Shipment.ShipmentStatus status, String cursor, Integer size) {
+        Long businessId = businessService.getCurrentBusinessId();
+        int pageSize = cursorPaging.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        
+        List<ShipmentResponse> shipments = after == null
+            ? shipmentRepository.findFirstPageByBusinessIdAndStatus(businessId, status, cursorPaging.limit(pageSize))
+            : shipmentRepository.findNextPageByBusinessIdAndStatus(businessId, status, after.getCreatedAt(),
+                after.getId(), cursorPaging.limit(pageSize));
+        return cursorPaging.toPage(shipments, pageSize, shipment -> new PageCursor(shipment.getCreatedAt(), shipment.getId()));
     }
     
     private void mapRequestToShipment(ShipmentRequest request, Shipment shipment) {
@@ -130,7 +170,6 @@ public class ShipmentServiceImpl implements ShipmentService {
     
     private String generateTrackingNumber(String carrierName) {
         String prefix = carrierName.substring(0, Math.min(3, carrierName.length())).toUpperCase();
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        return prefix + timestamp;
+        return idGenerator.nextId(prefix);
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.orderlee.service.impl;
 
 import com.orderlee.dto.request.StripePaymentRequest;
+import com.orderlee.model.StripeWebhookEvent;
+import com.orderlee.repository.StripeWebhookEventRepository;
 import com.orderlee.service.StripePaymentService;
 import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
@@ -8,7 +10,10 @@ import com.stripe.model.Event;
 import com.stripe.model.PaymentIntent;
 import com.stripe.net.Webhook;
 import com.stripe.param.PaymentIntentCreateParams;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
@@ -17,6 +22,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@Timed("orderlee.service")
 public class StripePaymentServiceImpl implements StripePaymentService {
     
     @Value("${stripe.secret.key}")
@@ -25,6 +31,12 @@ public class StripePaymentServiceImpl implements StripePaymentService {
     @Value("${stripe.webhook.secret}")
     private String webhookSecret;
     
+    @Autowired
+    private StripeWebhookEventRepository webhookEventRepository;
+    
+    @Autowired
+    private StripeWebhookProcessor webhookProcessor;
+    
     @PostConstruct
     public void init() {
         Stripe.apiKey = stripeSecretKey;
@@ -79,34 +91,22 @@ public class StripePaymentServiceImpl implements StripePaymentService {
     }
     
     @Override
+    @Timed("orderlee.stripe.webhook")
     public void handleWebhook(String payload, String sigHeader) throws Exception {
         try {
             Event event = Webhook.constructEvent(payload, sigHeader, webhookSecret);
             
-            switch (event.getType()) {
-                case "payment_intent.succeeded":
-                    handlePaymentSucceeded(event);
-                    break;
-                case "payment_intent.payment_failed":
-                    handlePaymentFailed(event);
-                    break;
-                default:
-                    System.out.println("Unhandled event type: " + event.getType());
+            // Only verify and store here so Stripe gets its ack at once; StripeWebhookProcessor applies the event
+            if (webhookEventRepository.existsByEventId(event.getId())) {
+                return;
             }
+            StripeWebhookEvent stored = webhookEventRepository.save(
+                new StripeWebhookEvent(event.getId(), event.getType(), payload));
+            webhookProcessor.submitAfterCommit(stored.getId());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent redelivery of the same event stored it first
         } catch (Exception e) {
             throw new Exception("Webhook error: " + e.getMessage());
         }
     }
-    
-    private void handlePaymentSucceeded(Event event) {
-        // Handle successful payment
-        System.out.println("Payment succeeded: " + event.getId());
-        // TODO: Update order/shipment status, send confirmation emails, etc.
-    }
-    
-    private void handlePaymentFailed(Event event) {
-        // Handle failed payment
-        System.out.println("Payment failed: " + event.getId());
-        // TODO: Update order/shipment status, notify customer, etc.
-    }
 }
\ No newline at end of file
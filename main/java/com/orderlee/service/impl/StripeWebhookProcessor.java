@@ -0,0 +1,212 @@
+package com.orderlee.service.impl;
+
+import com.orderlee.model.Payment;
+import com.orderlee.model.StripeWebhookEvent;
+import com.orderlee.repository.StripeWebhookEventRepository;
+import com.orderlee.service.PaymentService;
+import com.orderlee.util.TransactionHooks;
+import com.stripe.exception.EventDataObjectDeserializationException;
+import com.stripe.model.Event;
+import com.stripe.model.EventDataObjectDeserializer;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.StripeObject;
+import com.stripe.net.ApiResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies stored Stripe webhook events on a bounded worker pool. Each event is handled in its own
+ * transaction under a row lock, and the payment update and the PROCESSED mark commit together, so
+ * an event takes effect exactly once however often Stripe redelivers it. Events that could not be
+ * queued or that failed are picked up again by the sweeper with exponential backoff.
+ */
+@Component
+public class StripeWebhookProcessor {
+    
+    private static final Logger log = LoggerFactory.getLogger(StripeWebhookProcessor.class);
+    
+    @Autowired
+    private StripeWebhookEventRepository eventRepository;
+    
+    @Autowired
+    private PaymentService paymentService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${orderlee.stripe.webhook.workers:2}")
+    private int workers;
+    
+    @Value("${orderlee.stripe.webhook.queue-capacity:1000}")
+    private int queueCapacity;
+    
+    @Value("${orderlee.stripe.webhook.sweep-batch-size:100}")
+    private int sweepBatchSize;
+    
+    @Value("${orderlee.stripe.webhook.max-attempts:10}")
+    private int maxAttempts;
+    
+    @Value("${orderlee.stripe.webhook.backoff-ms:10000}")
+    private long backoffMs;
+    
+    @Value("${orderlee.stripe.webhook.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+    
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private TransactionTemplate transactionTemplate;
+    private ThreadPoolExecutor executor;
+    
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "stripe-webhook-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    
+    public void submitAfterCommit(Long eventId) {
+        TransactionHooks.afterCommit(() -> submit(eventId));
+    }
+    
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+    
+    @Scheduled(fixedDelayString = "${orderlee.stripe.webhook.sweep-interval-ms:5000}")
+    public void sweep() {
+        for (Long eventId : eventRepository.findDueIds(LocalDateTime.now(), PageRequest.of(0, sweepBatchSize))) {
+            submit(eventId);
+        }
+    }
+    
+    private void submit(Long eventId) {
+        if (!queued.add(eventId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(eventId);
+                } finally {
+                    queued.remove(eventId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The row stays PENDING, so the next sweep retries it once the queue has drained
+            queued.remove(eventId);
+        }
+    }
+    
+    private void process(Long eventId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                StripeWebhookEvent event = eventRepository.findByIdForUpdate(eventId).orElse(null);
+                if (event == null || event.getStatus() != StripeWebhookEvent.EventStatus.PENDING) {
+                    return;
+                }
+                
+                apply(event);
+                event.setStatus(StripeWebhookEvent.EventStatus.PROCESSED);
+                event.setProcessedAt(LocalDateTime.now());
+                event.setLastError(null);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Stripe webhook event {} failed", eventId, e);
+            transactionTemplate.executeWithoutResult(status -> recordFailure(eventId, e));
+        }
+    }
+    
+    private void apply(StripeWebhookEvent event) {
+        switch (event.getEventType()) {
+            case "payment_intent.succeeded":
+                recordPaymentIntent(event, Payment.PaymentStatus.COMPLETED);
+                break;
+            case "payment_intent.payment_failed":
+                recordPaymentIntent(event, Payment.PaymentStatus.FAILED);
+                break;
+            default:
+                log.debug("Ignoring Stripe event {} of type {}", event.getEventId(), event.getEventType());
+        }
+    }
+    
+    private void recordPaymentIntent(StripeWebhookEvent event, Payment.PaymentStatus status) {
+        Event stripeEvent = ApiResource.GSON.fromJson(event.getPayload(), Event.class);
+        PaymentIntent intent = (PaymentIntent) dataObject(stripeEvent);
+        
+        String orderId = intent.getMetadata() == null ? null : intent.getMetadata().get("orderId");
+        if (orderId == null) {
+            log.info("Stripe event {} has no order metadata, nothing to record", event.getEventId());
+            return;
+        }
+        
+        // Stripe amounts are in the smallest currency unit, matching how createPaymentIntent sent them
+        Long cents = status == Payment.PaymentStatus.COMPLETED && intent.getAmountReceived() != null
+            ? intent.getAmountReceived()
+            : intent.getAmount();
+        paymentService.recordGatewayPayment(Long.valueOf(orderId), intent.getId(),
+            BigDecimal.valueOf(cents, 2), status);
+    }
+    
+    private StripeObject dataObject(Event event) {
+        EventDataObjectDeserializer deserializer = event.getDataObjectDeserializer();
+        if (deserializer.getObject().isPresent()) {
+            return deserializer.getObject().get();
+        }
+        
+        // The event was rendered with a different API version than this library; the fields we read are stable
+        try {
+            return deserializer.deserializeUnsafe();
+        } catch (EventDataObjectDeserializationException e) {
+            throw new IllegalStateException("Cannot read data object of Stripe event " + event.getId(), e);
+        }
+    }
+    
+    private void recordFailure(Long eventId, RuntimeException failure) {
+        StripeWebhookEvent event = eventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            return;
+        }
+        
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        String message = String.valueOf(failure.getMessage());
+        event.setLastError(message.length() <= 500 ? message : message.substring(0, 500));
+        if (attempts >= maxAttempts) {
+            event.setStatus(StripeWebhookEvent.EventStatus.FAILED);
+            log.error("Giving up on Stripe event {} after {} attempts", event.getEventId(), attempts);
+        } else {
+            long delay = Math.min(backoffMs << Math.min(attempts - 1, 20), maxBackoffMs);
+            event.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delay)));
+        }
+    }
+}
\ No newline at end of file
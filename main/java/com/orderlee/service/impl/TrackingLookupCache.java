@@ -0,0 +1,197 @@
+package com.orderlee.service.impl;
+
+import com.orderlee.config.ReplicaRoutingDataSource;
+import com.orderlee.dto.response.ShipmentResponse;
+import com.orderlee.repository.ShipmentRepository;
+import com.orderlee.util.BloomFilter;
+import com.orderlee.util.SnowflakeIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache for public tracking lookups. A Bloom filter over every issued tracking number
+ * turns away numbers that were never issued before they reach the cache or the database; hits and
+ * misses that do get through are cached with separate TTLs. The shipment service evicts an entry
+ * once a change to that shipment commits.
+ */
+@Component
+public class TrackingLookupCache {
+    
+    private static final Logger log = LoggerFactory.getLogger(TrackingLookupCache.class);
+    
+    private static final int FILTER_PAGE_SIZE = 5000;
+    private static final long MIN_FILTER_CAPACITY = 100_000;
+    
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+    
+    @Value("${orderlee.tracking.cache.ttl-ms:60000}")
+    private long ttlMs;
+    
+    @Value("${orderlee.tracking.cache.negative-ttl-ms:10000}")
+    private long negativeTtlMs;
+    
+    @Value("${orderlee.tracking.cache.max-entries:100000}")
+    private int maxEntries;
+    
+    @Value("${orderlee.tracking.filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+    
+    @Value("${orderlee.tracking.filter.clock-skew-ms:60000}")
+    private long clockSkewMs;
+    
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a load that raced with an update is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder filtered = new LongAdder();
+    private volatile IssuedNumbers issued;
+    
+    public Optional<ShipmentResponse> find(String trackingNumber) {
+        if (!mightBeIssued(trackingNumber)) {
+            filtered.increment();
+            return Optional.empty();
+        }
+        
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(trackingNumber);
+        if (entry != null && entry.expiresAt > now) {
+            hits.increment();
+            return Optional.ofNullable(entry.shipment);
+        }
+        
+        misses.increment();
+        long stamp = invalidations.get();
+        // From the primary: a lagging replica could still miss a shipment that was just created
+        Optional<ShipmentResponse> shipment = ReplicaRoutingDataSource.onPrimary(
+            () -> shipmentRepository.findResponseByTrackingNumber(trackingNumber));
+        if (entries.size() >= maxEntries) {
+            evictOverflow(now);
+        }
+        if (invalidations.get() == stamp) {
+            entries.put(trackingNumber, new Entry(shipment.orElse(null), now + (shipment.isPresent() ? ttlMs : negativeTtlMs)));
+        }
+        return shipment;
+    }
+    
+    // Call once the shipment carrying this number has committed
+    public void issued(String trackingNumber) {
+        IssuedNumbers current = issued;
+        if (current != null) {
+            current.filter.add(trackingNumber);
+        }
+        evict(trackingNumber);
+    }
+    
+    public void evict(String trackingNumber) {
+        invalidations.incrementAndGet();
+        entries.remove(trackingNumber);
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    // Lookups the Bloom filter answered without touching the cache or the database
+    public long getFilteredCount() {
+        return filtered.sum();
+    }
+    
+    // Runs at startup and then periodically, so numbers issued by other instances and deleted
+    // shipments are folded in and the filter is resized as the table grows
+    @Scheduled(fixedDelayString = "${orderlee.tracking.filter.rebuild-interval-ms:3600000}")
+    public void rebuildFilter() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            long shipments = shipmentRepository.count();
+            BloomFilter filter = new BloomFilter(Math.max(MIN_FILTER_CAPACITY, shipments * 2), falsePositiveRate);
+            
+            Long afterId = 0L;
+            List<Object[]> page;
+            do {
+                page = shipmentRepository.findTrackingNumbersAfter(afterId, PageRequest.of(0, FILTER_PAGE_SIZE));
+                for (Object[] row : page) {
+                    afterId = (Long) row[0];
+                    if (row[1] != null) {
+                        filter.add((String) row[1]);
+                    }
+                }
+            } while (page.size() == FILTER_PAGE_SIZE);
+            
+            issued = new IssuedNumbers(filter, startedAt - clockSkewMs);
+            log.info("Built tracking number filter over {} shipments ({} bits) in {} ms",
+                shipments, filter.getBitCount(), System.currentTimeMillis() - startedAt);
+        } catch (RuntimeException e) {
+            log.warn("Tracking number filter rebuild failed; keeping the previous filter", e);
+        }
+    }
+    
+    private boolean mightBeIssued(String trackingNumber) {
+        IssuedNumbers current = issued;
+        if (current == null || current.filter.mightContain(trackingNumber)) {
+            return true;
+        }
+        // Numbers issued elsewhere since the last rebuild are not in the filter, but their
+        // snowflake timestamp places them after it
+        return SnowflakeIdGenerator.extractTimestampMillis(trackingNumber) >= current.coveredUntil;
+    }
+    
+    private void evictOverflow(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        
+        // Still full of live entries: drop the tenth closest to expiry
+        List<Map.Entry<String, Entry>> live = new ArrayList<>(entries.entrySet());
+        live.sort(Comparator.comparingLong(entry -> entry.getValue().expiresAt));
+        int drop = Math.max(1, maxEntries / 10);
+        for (int i = 0; i < drop && i < live.size(); i++) {
+            entries.remove(live.get(i).getKey(), live.get(i).getValue());
+        }
+    }
+    
+    private static class Entry {
+        private final ShipmentResponse shipment;
+        private final long expiresAt;
+        
+        Entry(ShipmentResponse shipment, long expiresAt) {
+            this.shipment = shipment;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    private static class IssuedNumbers {
+        private final BloomFilter filter;
+        // Every number issued before this instant was loaded into the filter
+        private final long coveredUntil;
+        
+        IssuedNumbers(BloomFilter filter, long coveredUntil) {
+            this.filter = filter;
+            this.coveredUntil = coveredUntil;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.orderlee.service.impl;
+
+import com.orderlee.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-business unread notification counts held in memory. A count is loaded from the database on
+ * first read and then moved by committed deltas from the notification service. Writes made by
+ * other instances, or that slip between a load and a delta, are corrected by the periodic
+ * reconciliation against the database.
+ */
+@Component
+public class UnreadNotificationCounter {
+    
+    private static final Logger log = LoggerFactory.getLogger(UnreadNotificationCounter.class);
+    
+    private static final int RECONCILE_CHUNK = 500;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Value("${orderlee.notifications.unread.max-entries:50000}")
+    private int maxEntries;
+    
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+    
+    public long get(Long businessId) {
+        Counter counter = counters.get(businessId);
+        if (counter == null) {
+            if (counters.size() >= maxEntries) {
+                evictOverflow();
+            }
+            Counter loaded = new Counter(notificationRepository.countUnreadByBusinessId(businessId));
+            Counter existing = counters.putIfAbsent(businessId, loaded);
+            counter = existing != null ? existing : loaded;
+        }
+        counter.lastAccess = System.currentTimeMillis();
+        return Math.max(0, counter.value.get());
+    }
+    
+    // Call with committed changes only; an absent counter is loaded fresh on its next read
+    public void adjust(Long businessId, long delta) {
+        Counter counter = counters.get(businessId);
+        if (counter != null) {
+            counter.value.addAndGet(delta);
+        }
+    }
+    
+    public void evict(Long businessId) {
+        counters.remove(businessId);
+    }
+    
+    public int size() {
+        return counters.size();
+    }
+    
+    @Scheduled(fixedDelayString = "${orderlee.notifications.unread.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        List<Long> businessIds = new ArrayList<>(counters.keySet());
+        for (int from = 0; from < businessIds.size(); from += RECONCILE_CHUNK) {
+            List<Long> chunk = businessIds.subList(from, Math.min(from + RECONCILE_CHUNK, businessIds.size()));
+            try {
+                Map<Long, Long> actual = new HashMap<>();
+                for (Object[] row : notificationRepository.countUnreadByBusinessIds(chunk)) {
+                    actual.put((Long) row[0], (Long) row[1]);
+                }
+                for (Long businessId : chunk) {
+                    Counter counter = counters.get(businessId);
+                    long expected = actual.getOrDefault(businessId, 0L);
+                    if (counter != null && counter.value.getAndSet(expected) != expected) {
+                        log.debug("Corrected unread count for business {} to {}", businessId, expected);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Unread counter reconciliation failed for {} businesses", chunk.size(), e);
+            }
+        }
+    }
+    
+    private void evictOverflow() {
+        // Drop the least recently read tenth; they reload on their next read
+        List<Map.Entry<Long, Counter>> entries = new ArrayList<>(counters.entrySet());
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+        int drop = Math.max(1, maxEntries / 10);
+        for (int i = 0; i < drop && i < entries.size(); i++) {
+            counters.remove(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+    }
+    
+    private static class Counter {
+        private final AtomicLong value;
+        private volatile long lastAccess = System.currentTimeMillis();
+        
+        Counter(long value) {
+            this.value = new AtomicLong(value);
+        }
+    }
+}
\ No newline at end of file
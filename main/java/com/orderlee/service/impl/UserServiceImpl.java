@@ -8,8 +8,11 @@ import com.orderlee.exception.BadRequestException;
 import com.orderlee.model.User;
 import com.orderlee.repository.UserRepository;
 import com.orderlee.security.JwtTokenProvider;
+import com.orderlee.security.UserPrincipalCache;
 import com.orderlee.service.UserService;
 import com.orderlee.service.EmailService;
+import com.orderlee.util.TransactionHooks;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -23,6 +26,7 @@ import java.util.UUID;
 
 @Service
 @Transactional
+@Timed("orderlee.service")
 public class UserServiceImpl implements UserService {
     
     @Autowired
@@ -40,6 +44,9 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private EmailService emailService;
     
+    @Autowired
+    private UserPrincipalCache principalCache;
+    
     @Override
     public AuthResponse signup(SignupRequest signupRequest) {
         if (userRepository.existsByEmail(signupRequest.getEmail())) {
@@ -112,6 +119,7 @@ public class UserServiceImpl implements UserService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
@@ -128,6 +136,10 @@ public class UserServiceImpl implements UserService {
         currentUser.setLastName(user.getLastName());
         currentUser.setPhone(user.getPhone());
         
-        return userRepository.save(currentUser);
+        User savedUser = userRepository.save(currentUser);
+        // Evicting before commit would let a concurrent request re-cache the old row
+        TransactionHooks.afterCommit(() -> principalCache.evict(savedUser.getId()));
+        
+        return savedUser;
     }
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.orderlee.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: one record at a time, with quoted fields that may contain commas,
+ * doubled quotes and line breaks. Nothing beyond the current record is held in memory, and a
+ * record longer than the cap is skipped rather than buffered.
+ */
+public class CsvReader {
+    
+    public static final int DEFAULT_MAX_RECORD_CHARS = 1 << 20;
+    
+    private final BufferedReader reader;
+    private final int maxRecordChars;
+    private long lineNumber = 1;
+    private long recordLineNumber;
+    private int pushedBack = -1;
+    
+    public CsvReader(Reader reader) {
+        this(reader, DEFAULT_MAX_RECORD_CHARS);
+    }
+    
+    public CsvReader(Reader reader, int maxRecordChars) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.maxRecordChars = maxRecordChars;
+    }
+    
+    // Returns null at end of input. A record over the cap is read to its end without being kept and
+    // then reported with RecordTooLongException, so the caller can carry on with the next one.
+    public List<String> readRecord() throws IOException {
+        recordLineNumber = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        boolean empty = true;
+        long length = 0;
+        
+        int c;
+        while ((c = read()) != -1) {
+            empty = false;
+            // Past the cap the record is only scanned for its end; nothing more is kept
+            boolean keep = ++length <= maxRecordChars;
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        append(field, '"', keep);
+                    } else {
+                        quoted = false;
+                        pushedBack = next;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    append(field, (char) c, keep);
+                }
+            } else if (c == '"' && !fieldStarted) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                if (keep) {
+                    fields.add(field.toString());
+                }
+                field.setLength(0);
+                fieldStarted = false;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                lineNumber++;
+                return complete(fields, field, length);
+            } else {
+                append(field, (char) c, keep);
+                fieldStarted = true;
+            }
+        }
+        
+        if (quoted) {
+            throw new IOException("Unterminated quoted field starting on line " + recordLineNumber);
+        }
+        if (empty) {
+            return null;
+        }
+        return complete(fields, field, length);
+    }
+    
+    // Line on which the record last returned by readRecord starts
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+    
+    private List<String> complete(List<String> fields, StringBuilder field, long length) throws RecordTooLongException {
+        if (length > maxRecordChars) {
+            throw new RecordTooLongException("Record starting on line " + recordLineNumber +
+                " is longer than " + maxRecordChars + " characters");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    private static void append(StringBuilder field, char c, boolean keep) {
+        if (keep) {
+            field.append(c);
+        }
+    }
+    
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        return reader.read();
+    }
+}
\ No newline at end of file
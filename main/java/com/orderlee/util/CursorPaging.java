@@ -0,0 +1,42 @@
+package com.orderlee.util;
+
+import com.orderlee.dto.response.CursorPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Component
+public class CursorPaging {
+    
+    @Value("${orderlee.pagination.default-size:50}")
+    private int defaultSize;
+    
+    @Value("${orderlee.pagination.max-size:200}")
+    private int maxSize;
+    
+    public int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+    
+    // One extra row is fetched to tell whether another page follows
+    public Pageable limit(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+    
+    public <T> CursorPage<T> toPage(List<T> rows, int pageSize, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null, false);
+        }
+        
+        List<T> items = new ArrayList<>(rows.subList(0, pageSize));
+        return new CursorPage<>(items, cursorOf.apply(items.get(pageSize - 1)).encode(), true);
+    }
+}
\ No newline at end of file
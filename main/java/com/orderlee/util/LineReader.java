@@ -0,0 +1,44 @@
+package com.orderlee.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Line-at-a-time reader with a length cap, for newline-delimited uploads. Unlike
+ * {@link BufferedReader#readLine()} it never buffers more than the cap, however long a line is.
+ */
+public class LineReader {
+    
+    private final BufferedReader reader;
+    private final int maxLineChars;
+    
+    public LineReader(Reader reader, int maxLineChars) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.maxLineChars = maxLineChars;
+    }
+    
+    // Returns null at end of input; a line over the cap is skipped and reported with RecordTooLongException
+    public String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        long length = 0;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (++length <= maxLineChars) {
+                line.append((char) c);
+            }
+        }
+        if (c == -1 && length == 0) {
+            return null;
+        }
+        
+        if (length > maxLineChars) {
+            throw new RecordTooLongException("Line is longer than " + maxLineChars + " characters");
+        }
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            line.setLength(end - 1);
+        }
+        return line.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.orderlee.util;
+
+import java.io.IOException;
+
+/**
+ * Thrown by the upload readers for a record over their length cap. The record has been consumed,
+ * so reading can continue with the next one.
+ */
+public class RecordTooLongException extends IOException {
+    
+    public RecordTooLongException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
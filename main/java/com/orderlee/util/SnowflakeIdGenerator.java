@@ -0,0 +1,74 @@
+package com.orderlee.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free, time-ordered 63-bit ids: 41 bits of milliseconds since {@link #EPOCH}, 10 bits of
+ * node id and 12 bits of per-millisecond sequence. Each node must run with a distinct
+ * {@code orderlee.id.node-id}.
+ */
+@Component
+public class SnowflakeIdGenerator {
+    
+    public static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    
+    private final long nodeId;
+    
+    // (timestamp << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong state = new AtomicLong();
+    
+    public SnowflakeIdGenerator(@Value("${orderlee.id.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("orderlee.id.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+    
+    public long nextId() {
+        long current;
+        long next;
+        do {
+            current = state.get();
+            long now = System.currentTimeMillis() - EPOCH;
+            // Within the same millisecond, or if the clock stepped back, keep counting from the last
+            // state; an exhausted sequence rolls into the next millisecond instead of spinning
+            next = now > (current >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : current + 1;
+        } while (!state.compareAndSet(current, next));
+        
+        long timestamp = next >>> SEQUENCE_BITS;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+    
+    public String nextId(String prefix) {
+        return prefix + Long.toString(nextId(), 36).toUpperCase();
+    }
+    
+    public static long extractTimestampMillis(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+    
+    // Reverses nextId(prefix) without knowing the prefix length; returns -1 when no plausible id is found
+    public static long extractTimestampMillis(String prefixedId) {
+        long latest = System.currentTimeMillis() + 24 * 60 * 60 * 1000L;
+        for (int digits = Math.min(13, prefixedId.length()); digits >= 8; digits--) {
+            try {
+                long id = Long.parseLong(prefixedId.substring(prefixedId.length() - digits), 36);
+                long timestamp = extractTimestampMillis(id);
+                if (id > 0 && timestamp <= latest) {
+                    return timestamp;
+                }
+            } catch (NumberFormatException e) {
+                // Too long for a long or not base 36; try a shorter suffix
+            }
+        }
+        return -1;
+    }
+}
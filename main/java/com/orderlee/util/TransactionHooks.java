@@ -0,0 +1,26 @@
+package com.orderlee.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionHooks {
+    
+    private TransactionHooks() {}
+    
+    // Runs the action once the surrounding transaction commits, or right away when there is none.
+    // Must not be called from inside another afterCommit callback: synchronizations registered
+    // while the commit callbacks are running are never invoked.
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -1,5 +1,24 @@
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080/api';
 
+// List endpoints return one keyset page at a time; pass nextCursor back to get the following page
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
+// Search returns at most limit ranked matches; truncated means more matched and the query should be narrowed
+export interface SearchResults<T> {
+  items: T[];
+  truncated: boolean;
+  limit: number;
+}
+
+export interface PageParams {
+  cursor?: string | null;
+  size?: number;
+}
+
 // API Client with authentication
 class ApiClient {
   private baseURL: string;
@@ -41,6 +60,14 @@ class ApiClient {
     }
   }
 
+  private pageQuery(params: PageParams = {}) {
+    const query = new URLSearchParams();
+    if (params.cursor) query.set('cursor', params.cursor);
+    if (params.size) query.set('size', String(params.size));
+    const encoded = query.toString();
+    return encoded ? `?${encoded}` : '';
+  }
+
   setToken(token: string) {
     this.token = token;
     localStorage.setItem('authToken', token);
@@ -120,8 +147,8 @@ class ApiClient {
   }
 
   // Product endpoints
-  async getProducts() {
-    return this.request('/products');
+  async getProducts(params?: PageParams) {
+    return this.request<CursorPage<any>>(`/products${this.pageQuery(params)}`);
   }
 
   async createProduct(productData: any) {
@@ -149,12 +176,12 @@ class ApiClient {
   }
 
   async searchProducts(query: string) {
-    return this.request(`/products/search?query=${encodeURIComponent(query)}`);
+    return this.request<SearchResults<any>>(`/products/search?query=${encodeURIComponent(query)}`);
   }
 
   // Order endpoints
-  async getOrders() {
-    return this.request('/orders');
+  async getOrders(params?: PageParams) {
+    return this.request<CursorPage<any>>(`/orders${this.pageQuery(params)}`);
   }
 
   async createOrder(orderData: any) {
@@ -190,13 +217,13 @@ class ApiClient {
     });
   }
 
-  async getOrdersByStatus(status: string) {
-    return this.request(`/orders/status/${status}`);
+  async getOrdersByStatus(status: string, params?: PageParams) {
+    return this.request<CursorPage<any>>(`/orders/status/${status}${this.pageQuery(params)}`);
   }
 
   // Payment endpoints
-  async getPayments() {
-    return this.request('/payments');
+  async getPayments(params?: PageParams) {
+    return this.request<CursorPage<any>>(`/payments${this.pageQuery(params)}`);
   }
 
   async processPayment(paymentData: any) {
@@ -221,8 +248,8 @@ class ApiClient {
   }
 
   // Shipment endpoints
-  async getShipments() {
-    return this.request('/shipments');
+  async getShipments(params?: PageParams) {
+    return this.request<CursorPage<any>>(`/shipments${this.pageQuery(params)}`);
   }
 
   async createShipment(shipmentData: any) {
@@ -246,13 +273,13 @@ class ApiClient {
     });
   }
 
-  async getShipmentsByStatus(status: string) {
-    return this.request(`/shipments/status/${status}`);
+  async getShipmentsByStatus(status: string, params?: PageParams) {
+    return this.request<CursorPage<any>>(`/shipments/status/${status}${this.pageQuery(params)}`);
   }
 
   // Notification endpoints
-  async getNotifications() {
-    return this.request('/notifications');
+  async getNotifications(params?: PageParams) {
+    return this.request<CursorPage<any>>(`/notifications${this.pageQuery(params)}`);
   }
 
   async markNotificationAsRead(notificationId: number) {
@@ -261,8 +288,10 @@ class ApiClient {
     });
   }
 
-  async markAllNotificationsAsRead() {
-    return this.request('/notifications/mark-all-read', {
+  // upTo is the cursor of the newest notification the user has seen; without it every notification is marked read
+  async markAllNotificationsAsRead(upTo?: string) {
+    const query = upTo ? `?upTo=${encodeURIComponent(upTo)}` : '';
+    return this.request(`/notifications/mark-all-read${query}`, {
       method: 'PUT',
     });
   }
@@ -0,0 +1,126 @@
+package com.orderlee.config;
+
+import com.orderlee.security.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes against two in-memory H2 databases standing in for the primary and the replica. Each one
+ * holds a marker row naming it, so a query shows which database served it.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final long WINDOW_MS = 60_000;
+
+    private DataSource primary;
+    private DataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(new ReadYourWritesWindow(WINDOW_MS));
+        routing.setTargetDataSources(Map.of(
+            ReplicaRoutingDataSource.Route.PRIMARY, primary,
+            ReplicaRoutingDataSource.Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsReadTheReplica() {
+        assertThat(readOnlyTransaction.execute(status -> servedBy())).isEqualTo("replica");
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        String servedBy = writeTransaction.execute(status -> {
+            jdbcTemplate.update("INSERT INTO writes (note) VALUES ('order placed')");
+            return servedBy();
+        });
+
+        assertThat(servedBy).isEqualTo("primary");
+        assertThat(new JdbcTemplate(primary).queryForObject("SELECT COUNT(*) FROM writes", Long.class)).isEqualTo(1);
+        assertThat(new JdbcTemplate(replica).queryForObject("SELECT COUNT(*) FROM writes", Long.class)).isZero();
+    }
+
+    @Test
+    void tenantReadsStayOnThePrimaryInsideTheReadYourWritesWindow() {
+        TenantContext.set(new TenantContext(1L, 42L));
+        writeTransaction.executeWithoutResult(status ->
+            jdbcTemplate.update("INSERT INTO writes (note) VALUES ('order placed')"));
+
+        assertThat(readOnlyTransaction.execute(status -> servedBy())).isEqualTo("primary");
+
+        // Another business has not written, so it still reads the replica
+        TenantContext.set(new TenantContext(2L, 7L));
+        assertThat(readOnlyTransaction.execute(status -> servedBy())).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWritesDoNotOpenTheWindow() {
+        TenantContext.set(new TenantContext(1L, 42L));
+        writeTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO writes (note) VALUES ('order placed')");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlyTransaction.execute(status -> servedBy())).isEqualTo("replica");
+    }
+
+    @Test
+    void onPrimaryPinsCacheLoadersToThePrimary() {
+        String pinned = ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> servedBy()));
+        String afterNestedLoad = ReplicaRoutingDataSource.onPrimary(() -> {
+            ReplicaRoutingDataSource.onPrimary(() -> null);
+            return readOnlyTransaction.execute(status -> servedBy());
+        });
+
+        assertThat(pinned).isEqualTo("primary");
+        // A nested load does not release the outer pin, and the pin is gone once the loader returns
+        assertThat(afterNestedLoad).isEqualTo("primary");
+        assertThat(readOnlyTransaction.execute(status -> servedBy())).isEqualTo("replica");
+    }
+
+    private String servedBy() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE marker (name VARCHAR(20))");
+        setup.execute("CREATE TABLE writes (note VARCHAR(100))");
+        setup.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,182 @@
+package com.orderlee.controller;
+
+import com.orderlee.dto.request.OrderItemRequest;
+import com.orderlee.dto.request.OrderRequest;
+import com.orderlee.dto.request.PaymentRequest;
+import com.orderlee.dto.request.ShipmentRequest;
+import com.orderlee.model.Business;
+import com.orderlee.model.Order;
+import com.orderlee.model.Payment;
+import com.orderlee.model.Product;
+import com.orderlee.model.User;
+import com.orderlee.repository.BusinessRepository;
+import com.orderlee.repository.ProductRepository;
+import com.orderlee.repository.UserRepository;
+import com.orderlee.security.JwtTokenProvider;
+import com.orderlee.security.TenantContext;
+import com.orderlee.service.OrderService;
+import com.orderlee.service.PaymentService;
+import com.orderlee.service.ShipmentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Each list endpoint must issue the same number of statements for a page of two rows as for a
+ * full page, so a lazy association touched per row shows up as a failure here.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ListEndpointQueryCountTest {
+
+    private static final int FEW_ROWS = 2;
+    private static final int PAGE_ROWS = 20;
+    private static final long MAX_STATEMENTS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private ShipmentService shipmentService;
+
+    private User user;
+    private Business business;
+    private String token;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFirstName("Ada");
+        user.setLastName("Obi");
+        user.setEmail("owner-" + UUID.randomUUID() + "@orderlee.test");
+        user.setPassword("secret-password");
+        user = userRepository.save(user);
+
+        business = new Business();
+        business.setBusinessName("Query Count Stores");
+        business.setUser(user);
+        business = businessRepository.save(business);
+
+        token = "Bearer " + tokenProvider.generateToken(user.getId());
+        seeded = 0;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "/api/orders",
+        "/api/orders/status/READY_TO_SHIP",
+        "/api/payments",
+        "/api/shipments",
+        "/api/shipments/status/PREPARING",
+        "/api/products"
+    })
+    void statementCountDoesNotGrowWithRows(String endpoint) throws Exception {
+        seedUpTo(FEW_ROWS);
+        // The first request also loads the principal into its cache
+        perform(endpoint);
+        long fewRows = statementsFor(endpoint);
+
+        seedUpTo(PAGE_ROWS);
+        long fullPage = statementsFor(endpoint);
+
+        assertThat(fullPage).as("statements for %s", endpoint).isEqualTo(fewRows);
+        assertThat(fullPage).as("statements for %s", endpoint).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    private long statementsFor(String endpoint) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        perform(endpoint);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void perform(String endpoint) throws Exception {
+        mockMvc.perform(get(endpoint).header("Authorization", token))
+            .andExpect(status().isOk());
+    }
+
+    // Every seeded order gets one product, one line item, one payment and one shipment
+    private void seedUpTo(int rows) {
+        TenantContext.set(new TenantContext(user.getId(), business.getId()));
+        try {
+            for (; seeded < rows; seeded++) {
+                Product product = new Product();
+                product.setName("Product " + seeded);
+                product.setCategory("Test");
+                product.setCostPrice(new BigDecimal("5.00"));
+                product.setSellingPrice(new BigDecimal("10.00"));
+                product.setStockQuantity(100);
+                product.setReorderLevel(0);
+                product.setBusiness(business);
+                product = productRepository.save(product);
+
+                OrderRequest orderRequest = new OrderRequest();
+                orderRequest.setCustomerName("Customer " + seeded);
+                orderRequest.setCustomerPhone("08000000000");
+                orderRequest.setShippingAddress("1 Test Street");
+                orderRequest.setOrderSource("test");
+                orderRequest.setPaymentStatus(Order.PaymentStatus.PENDING);
+                orderRequest.setOrderItems(List.of(new OrderItemRequest(product.getId(), 1, new BigDecimal("10.00"))));
+                Order order = orderService.createOrder(orderRequest);
+
+                PaymentRequest paymentRequest = new PaymentRequest();
+                paymentRequest.setOrderId(order.getId());
+                paymentRequest.setAmount(new BigDecimal("10.75"));
+                paymentRequest.setPaymentMethod(Payment.PaymentMethod.CASH);
+                paymentService.processPayment(paymentRequest);
+
+                ShipmentRequest shipmentRequest = new ShipmentRequest();
+                shipmentRequest.setOrderId(order.getId());
+                shipmentRequest.setCarrierName("DHL");
+                shipmentRequest.setSenderName("Query Count Stores");
+                shipmentRequest.setSenderAddress("2 Warehouse Road");
+                shipmentRequest.setSenderPhone("08000000001");
+                shipmentRequest.setReceiverName("Customer " + seeded);
+                shipmentRequest.setReceiverAddress("1 Test Street");
+                shipmentRequest.setReceiverPhone("08000000000");
+                shipmentService.createShipment(shipmentRequest);
+            }
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.orderlee.controller;
+
+import com.orderlee.model.Business;
+import com.orderlee.model.Product;
+import com.orderlee.model.User;
+import com.orderlee.repository.BusinessRepository;
+import com.orderlee.repository.OrderRepository;
+import com.orderlee.repository.ProductRepository;
+import com.orderlee.repository.UserRepository;
+import com.orderlee.security.JwtTokenProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "orderlee.import.chunk-size=5",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderImportControllerTest {
+
+    private static final int ORDERS = 23;
+    private static final int CHUNKS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void importSpanningSeveralChunksCommitsEachInItsOwnPersistenceContext() throws Exception {
+        User user = new User();
+        user.setFirstName("Ada");
+        user.setLastName("Obi");
+        user.setEmail("owner-" + UUID.randomUUID() + "@orderlee.test");
+        user.setPassword("secret-password");
+        user = userRepository.save(user);
+
+        Business business = new Business();
+        business.setBusinessName("Import Stores");
+        business.setUser(user);
+        business = businessRepository.save(business);
+
+        Product product = new Product();
+        product.setName("Imported Item");
+        product.setCategory("Test");
+        product.setCostPrice(new BigDecimal("5.00"));
+        product.setSellingPrice(new BigDecimal("10.00"));
+        product.setStockQuantity(10);
+        product.setReorderLevel(0);
+        product.setBusiness(business);
+        product = productRepository.save(product);
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < ORDERS; i++) {
+            body.append("{\"customerName\":\"Customer ").append(i).append("\",\"customerPhone\":\"08000000000\",")
+                .append("\"shippingAddress\":\"1 Test Street\",\"orderSource\":\"import\",\"paymentStatus\":\"PAID\",")
+                .append("\"orderItems\":[{\"productId\":").append(product.getId())
+                .append(",\"quantity\":2,\"unitPrice\":10.00}]}\n");
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(post("/api/orders/import")
+                .header("Authorization", "Bearer " + tokenProvider.generateToken(user.getId()))
+                .contentType("application/x-ndjson")
+                .content(body.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.ordersImported").value(ORDERS))
+            .andExpect(jsonPath("$.data.ordersFailed").value(0))
+            .andExpect(jsonPath("$.data.chunks").value(CHUNKS));
+
+        // Under open-in-view every chunk would share the request's single session
+        assertThat(statistics.getSessionOpenCount()).isGreaterThan(CHUNKS);
+        assertThat(orderRepository.countOrdersByBusiness(business.getId())).isEqualTo(ORDERS);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.orderlee.service;
+
+import com.orderlee.dto.request.OrderItemRequest;
+import com.orderlee.dto.request.OrderRequest;
+import com.orderlee.exception.BadRequestException;
+import com.orderlee.model.Business;
+import com.orderlee.model.Order;
+import com.orderlee.model.Product;
+import com.orderlee.model.User;
+import com.orderlee.repository.BusinessRepository;
+import com.orderlee.repository.ProductRepository;
+import com.orderlee.repository.UserRepository;
+import com.orderlee.security.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderServiceConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderServiceConcurrencyTest.class);
+
+    private static final int INITIAL_STOCK = 50;
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 10;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private User user;
+    private Business business;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setFirstName("Ada");
+        user.setLastName("Obi");
+        user.setEmail("owner-" + UUID.randomUUID() + "@orderlee.test");
+        user.setPassword("secret-password");
+        user = userRepository.save(user);
+
+        business = new Business();
+        business.setBusinessName("Concurrency Stores");
+        business.setUser(user);
+        business = businessRepository.save(business);
+
+        product = new Product();
+        product.setName("Hot SKU");
+        product.setCategory("Test");
+        product.setSku("HOT-1");
+        product.setCostPrice(new BigDecimal("5.00"));
+        product.setSellingPrice(new BigDecimal("10.00"));
+        product.setStockQuantity(INITIAL_STOCK);
+        product.setReorderLevel(0);
+        product.setBusiness(business);
+        product = productRepository.save(product);
+    }
+
+    @Test
+    void concurrentOrdersOnOneSkuNeverOversell() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        AtomicInteger ordersPlaced = new AtomicInteger();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int quantity = 1 + t % 3;
+                results.add(executor.submit(() -> placeOrders(start, quantity, ordersPlaced)));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+
+            int committed = 0;
+            for (Future<Integer> result : results) {
+                committed += result.get(60, TimeUnit.SECONDS);
+            }
+            double seconds = Math.max(1, System.nanoTime() - startedAt) / 1e9;
+            // Attempts include the ones turned away once stock ran out, which is most of them;
+            // CreateOrderBenchmark.createOrderContended with productMix=hot measures the sustained rate
+            log.info("Hot SKU: {} of {} orders committed by {} threads in {} ms, {} attempts/s, {} orders/s",
+                ordersPlaced.get(), THREADS * ORDERS_PER_THREAD, THREADS, Math.round(seconds * 1000),
+                Math.round(THREADS * ORDERS_PER_THREAD / seconds), Math.round(ordersPlaced.get() / seconds));
+
+            int finalStock = productRepository.findStockQuantityById(product.getId()).orElseThrow();
+            assertThat(finalStock).isGreaterThanOrEqualTo(0);
+            assertThat(INITIAL_STOCK - finalStock).isEqualTo(committed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Returns the quantity this thread managed to commit
+    private int placeOrders(CountDownLatch start, int quantity, AtomicInteger ordersPlaced) throws InterruptedException {
+        TenantContext.set(new TenantContext(user.getId(), business.getId()));
+        try {
+            start.await();
+            int committed = 0;
+            for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                try {
+                    orderService.createOrder(orderFor(quantity));
+                    committed += quantity;
+                    ordersPlaced.incrementAndGet();
+                } catch (BadRequestException e) {
+                    // Insufficient stock; the reservation must have left the row untouched
+                }
+            }
+            return committed;
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private OrderRequest orderFor(int quantity) {
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Load Customer");
+        request.setCustomerPhone("08000000000");
+        request.setShippingAddress("1 Test Street");
+        request.setOrderSource("test");
+        request.setPaymentStatus(Order.PaymentStatus.PENDING);
+        request.setOrderItems(List.of(new OrderItemRequest(product.getId(), quantity, new BigDecimal("10.00"))));
+        return request;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.orderlee.service.impl;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.orderlee.model.EmailOutbox;
+import com.orderlee.repository.EmailOutboxRepository;
+import com.orderlee.service.EmailService;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the outbox against GreenMail, an SMTP server embedded in the test, so sends go through a
+ * real SMTP conversation. GreenMail accepts every recipient, so per-message rejection within a
+ * batch is not exercised here; an outage of the whole server is.
+ */
+@SpringBootTest(properties = {
+    "spring.mail.port=3025",
+    "orderlee.mail.outbox.backoff-ms=50",
+    "orderlee.mail.outbox.max-attempts=20",
+    "orderlee.mail.outbox.poll-interval-ms=50"
+})
+@ActiveProfiles("test")
+class EmailOutboxDispatcherTest {
+
+    private static final ServerSetup SMTP = ServerSetupTest.SMTP;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private GreenMail smtp;
+
+    @AfterEach
+    void stopSmtp() {
+        if (smtp != null) {
+            smtp.stop();
+        }
+    }
+
+    @Test
+    void enqueueDoesNotWaitForSmtpAndSendsAreRetriedUntilTheServerIsBack() throws Exception {
+        // No server is listening yet, so the first attempts are refused
+        long startedAt = System.nanoTime();
+        emailService.sendOrderConfirmationEmail("customer@orderlee.test", "ORD-1");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        assertThat(elapsedMs).isLessThan(1000);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (attemptsSoFar() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(attemptsSoFar()).isPositive();
+
+        startSmtp();
+        assertThat(smtp.waitForIncomingEmail(10_000, 1)).isTrue();
+        awaitEmptyOutbox();
+
+        MimeMessage[] received = smtp.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getSubject()).isEqualTo("Order Confirmation - ORD-1");
+        assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo("customer@orderlee.test");
+    }
+
+    @Test
+    void messagesQueuedTogetherAreAllDeliveredOverSmtp() throws Exception {
+        startSmtp();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 1; i <= 3; i++) {
+                emailService.sendOrderConfirmationEmail("customer" + i + "@orderlee.test", "ORD-" + i);
+            }
+        });
+
+        assertThat(smtp.waitForIncomingEmail(10_000, 3)).isTrue();
+        awaitEmptyOutbox();
+
+        List<String> subjects = new ArrayList<>();
+        for (MimeMessage message : smtp.getReceivedMessages()) {
+            subjects.add(message.getSubject());
+        }
+        assertThat(subjects).containsExactlyInAnyOrder(
+            "Order Confirmation - ORD-1", "Order Confirmation - ORD-2", "Order Confirmation - ORD-3");
+    }
+
+    private void startSmtp() {
+        smtp = new GreenMail(SMTP);
+        smtp.start();
+    }
+
+    private int attemptsSoFar() {
+        return outboxRepository.findAll().stream().mapToInt(EmailOutbox::getAttempts).max().orElse(0);
+    }
+
+    private void awaitEmptyOutbox() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (outboxRepository.count() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(outboxRepository.count()).isZero();
+    }
+}
\ No newline at end of file
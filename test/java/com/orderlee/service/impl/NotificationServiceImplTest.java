@@ -0,0 +1,115 @@
+package com.orderlee.service.impl;
+
+import com.orderlee.model.Business;
+import com.orderlee.model.Notification;
+import com.orderlee.model.User;
+import com.orderlee.repository.BusinessRepository;
+import com.orderlee.repository.NotificationRepository;
+import com.orderlee.repository.UserRepository;
+import com.orderlee.security.TenantContext;
+import com.orderlee.service.NotificationService;
+import com.orderlee.util.PageCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class NotificationServiceImplTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.now().minusHours(3).truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<String, Long> ids = new HashMap<>();
+    private Long businessId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setFirstName("Ada");
+        user.setLastName("Obi");
+        user.setEmail("owner-" + UUID.randomUUID() + "@orderlee.test");
+        user.setPassword("secret-password");
+        user = userRepository.save(user);
+
+        Business business = new Business();
+        business.setBusinessName("Notification Stores");
+        business.setUser(user);
+        business = businessRepository.save(business);
+        businessId = business.getId();
+
+        TenantContext.set(new TenantContext(user.getId(), business.getId()));
+        // Created in this order, so ids ascend, then backdated so that id order and time order disagree
+        // the way they do when ids come from per-instance pooled blocks
+        create("first", BASE);
+        create("newest", BASE.plusMinutes(20));
+        create("middle", BASE.plusMinutes(10));
+        create("tied", BASE.plusMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void marksOnlyWhatPrecedesTheCursorInListOrder() {
+        int updated = notificationService.markAllAsRead(new PageCursor(BASE.plusMinutes(10), ids.get("middle")).encode());
+
+        // "newest" has a lower id than the bound but is newer, so the client has not seen it; "tied" shares
+        // the bound's timestamp with a higher id, so it sorts before the bound in the newest-first list
+        assertThat(updated).isEqualTo(2);
+        assertThat(isRead("first")).isTrue();
+        assertThat(isRead("middle")).isTrue();
+        assertThat(isRead("tied")).isFalse();
+        assertThat(isRead("newest")).isFalse();
+    }
+
+    @Test
+    void marksEverythingWithoutACursor() {
+        assertThat(notificationService.markAllAsRead(null)).isEqualTo(4);
+        assertThat(notificationService.getUnreadCount()).isZero();
+    }
+
+    private void create(String type, LocalDateTime createdAt) {
+        notificationService.createNotification(type, "Title " + type, "Message " + type, false);
+        Long id = notificationRepository.findAll().stream()
+            .filter(notification -> businessId.equals(notification.getBusiness().getId()))
+            .filter(notification -> type.equals(notification.getType()))
+            .map(Notification::getId)
+            .findFirst()
+            .orElseThrow();
+        jdbcTemplate.update("UPDATE notifications SET created_at = ? WHERE id = ?", createdAt, id);
+        ids.put(type, id);
+    }
+
+    private boolean isRead(String type) {
+        return notificationRepository.findById(ids.get(type)).orElseThrow().getIsRead();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.orderlee.service.impl;
+
+import com.orderlee.dto.request.OrderItemRequest;
+import com.orderlee.dto.request.OrderRequest;
+import com.orderlee.model.Business;
+import com.orderlee.model.Order;
+import com.orderlee.model.Payment;
+import com.orderlee.model.Product;
+import com.orderlee.model.StripeWebhookEvent;
+import com.orderlee.model.User;
+import com.orderlee.repository.BusinessRepository;
+import com.orderlee.repository.PaymentRepository;
+import com.orderlee.repository.ProductRepository;
+import com.orderlee.repository.StripeWebhookEventRepository;
+import com.orderlee.repository.UserRepository;
+import com.orderlee.security.TenantContext;
+import com.orderlee.service.OrderService;
+import com.stripe.Stripe;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StripeWebhookProcessorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private StripeWebhookEventRepository eventRepository;
+
+    @Value("${stripe.webhook.secret}")
+    private String webhookSecret;
+
+    @Test
+    void lateFailureDoesNotUndoACompletedPayment() throws Exception {
+        Order order = createOrder();
+        long processed = eventRepository.countByStatus(StripeWebhookEvent.EventStatus.PROCESSED);
+        String intentId = "pi_" + UUID.randomUUID().toString().replace("-", "");
+
+        deliver("payment_intent.succeeded", intentId, order.getId());
+        awaitProcessed(processed + 1);
+        Payment payment = onlyPayment(order);
+        assertThat(payment.getPaymentStatus()).isEqualTo(Payment.PaymentStatus.COMPLETED);
+        assertThat(payment.getAmount()).isEqualByComparingTo("10.75");
+
+        deliver("payment_intent.payment_failed", intentId, order.getId());
+        awaitProcessed(processed + 2);
+        assertThat(onlyPayment(order).getPaymentStatus()).isEqualTo(Payment.PaymentStatus.COMPLETED);
+    }
+
+    @Test
+    void payloadWithAForgedSignatureIsRejected() throws Exception {
+        String payload = eventPayload("payment_intent.succeeded", "pi_forged", 1L);
+        long timestamp = System.currentTimeMillis() / 1000;
+
+        mockMvc.perform(post("/api/stripe/webhook")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Stripe-Signature", "t=" + timestamp + ",v1=" + sign(timestamp, payload, "whsec_wrong"))
+                .content(payload))
+            .andExpect(status().isBadRequest());
+    }
+
+    private void deliver(String type, String intentId, Long orderId) throws Exception {
+        String payload = eventPayload(type, intentId, orderId);
+        long timestamp = System.currentTimeMillis() / 1000;
+
+        mockMvc.perform(post("/api/stripe/webhook")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Stripe-Signature", "t=" + timestamp + ",v1=" + sign(timestamp, payload, webhookSecret))
+                .content(payload))
+            .andExpect(status().isOk());
+    }
+
+    // Events are applied on the processor's worker threads after the inbox row commits
+    private void awaitProcessed(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (eventRepository.countByStatus(StripeWebhookEvent.EventStatus.PROCESSED) < count
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(eventRepository.countByStatus(StripeWebhookEvent.EventStatus.PROCESSED)).isEqualTo(count);
+    }
+
+    private Payment onlyPayment(Order order) {
+        List<Payment> payments = paymentRepository.findByOrderId(order.getId());
+        assertThat(payments).hasSize(1);
+        return payments.get(0);
+    }
+
+    private static String eventPayload(String type, String intentId, Long orderId) {
+        return "{\"id\":\"evt_" + UUID.randomUUID().toString().replace("-", "") + "\"," +
+            "\"object\":\"event\",\"api_version\":\"" + Stripe.API_VERSION + "\"," +
+            "\"created\":" + System.currentTimeMillis() / 1000 + ",\"type\":\"" + type + "\"," +
+            "\"data\":{\"object\":{\"id\":\"" + intentId + "\",\"object\":\"payment_intent\"," +
+            "\"amount\":1075,\"amount_received\":1075,\"currency\":\"ngn\"," +
+            "\"metadata\":{\"orderId\":\"" + orderId + "\"}}}}";
+    }
+
+    // Stripe signs "<timestamp>.<payload>" with HMAC-SHA256 keyed by the endpoint secret
+    private static String sign(long timestamp, String payload, String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal((timestamp + "." + payload).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Order createOrder() {
+        User user = new User();
+        user.setFirstName("Ada");
+        user.setLastName("Obi");
+        user.setEmail("owner-" + UUID.randomUUID() + "@orderlee.test");
+        user.setPassword("secret-password");
+        user = userRepository.save(user);
+
+        Business business = new Business();
+        business.setBusinessName("Webhook Stores");
+        business.setUser(user);
+        business = businessRepository.save(business);
+
+        Product product = new Product();
+        product.setName("Card Reader");
+        product.setCategory("Test");
+        product.setCostPrice(new BigDecimal("5.00"));
+        product.setSellingPrice(new BigDecimal("10.00"));
+        product.setStockQuantity(10);
+        product.setReorderLevel(0);
+        product.setBusiness(business);
+        product = productRepository.save(product);
+
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Card Customer");
+        request.setCustomerPhone("08000000000");
+        request.setShippingAddress("1 Test Street");
+        request.setOrderSource("test");
+        request.setPaymentStatus(Order.PaymentStatus.PENDING);
+        request.setOrderItems(List.of(new OrderItemRequest(product.getId(), 1, new BigDecimal("10.00"))));
+
+        TenantContext.set(new TenantContext(user.getId(), business.getId()));
+        try {
+            return orderService.createOrder(request);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.orderlee.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void recordOverTheCapIsSkippedAndReadingContinues() throws IOException {
+        String longField = "x".repeat(100);
+        CsvReader csv = new CsvReader(new StringReader("a,b\n\"" + longField + "\",c\nd,e\n"), 50);
+
+        assertThat(csv.readRecord()).containsExactly("a", "b");
+        assertThatThrownBy(csv::readRecord).isInstanceOf(RecordTooLongException.class);
+        assertThat(csv.readRecord()).containsExactly("d", "e");
+        assertThat(csv.getRecordLineNumber()).isEqualTo(3);
+        assertThat(csv.readRecord()).isNull();
+    }
+
+    @Test
+    void unterminatedQuoteIsRejectedWithoutBufferingTheRest() {
+        CsvReader csv = new CsvReader(new StringReader("\"open," + "y,".repeat(1000)), 50);
+
+        assertThatThrownBy(csv::readRecord)
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Unterminated quoted field");
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("\"a,1\",\"say \"\"hi\"\"\",\"two\nlines\"\r\n"));
+
+        List<String> record = csv.readRecord();
+        assertThat(record).containsExactly("a,1", "say \"hi\"", "two\nlines");
+        assertThat(csv.readRecord()).isNull();
+    }
+
+    @Test
+    void lineOverTheCapIsSkipped() throws IOException {
+        LineReader lines = new LineReader(new StringReader("{}\r\n" + "z".repeat(100) + "\n{\"a\":1}"), 50);
+
+        assertThat(lines.readLine()).isEqualTo("{}");
+        assertThatThrownBy(lines::readLine).isInstanceOf(RecordTooLongException.class);
+        assertThat(lines.readLine()).isEqualTo("{\"a\":1}");
+        assertThat(lines.readLine()).isNull();
+    }
+}
\ No newline at end of file